@@ -0,0 +1,142 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormTemplate;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormTemplateRepository;
+import com.example.backend.form.service.FormTemplateService;
+import com.example.backend.form.service.TemplateCatalog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Shared, deterministic fixtures for the benchmarks: the six templates shipped by
+// FormTemplateService.createDefaultTemplates and synthetic users/forms built from them.
+public final class BenchmarkFixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] STATUSES = {"Pending", "Approved", "Rejected"};
+    private static final String[] DEPARTMENTS = {"Computer Science", "Engineering", "Business", "Nursing"};
+
+    private BenchmarkFixtures() {}
+
+    // Capture the templates createDefaultTemplates() would persist
+    public static List<FormTemplate> defaultTemplates() {
+        FormTemplateRepository repository = mock(FormTemplateRepository.class);
+        List<FormTemplate> saved = new ArrayList<>();
+        when(repository.count()).thenReturn(0L);
+        when(repository.save(any(FormTemplate.class))).thenAnswer(invocation -> {
+            FormTemplate template = invocation.getArgument(0);
+            template.setId((long) saved.size() + 1);
+            saved.add(template);
+            return template;
+        });
+
+        FormTemplateService service = new FormTemplateService();
+        ReflectionTestUtils.setField(service, "formTemplateRepository", repository);
+        ReflectionTestUtils.setField(service, "templateCatalog", new TemplateCatalog());
+        service.createDefaultTemplates();
+        return saved;
+    }
+
+    public static FormTemplate template(List<FormTemplate> templates, String name) {
+        return templates.stream()
+                .filter(template -> template.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown template: " + name));
+    }
+
+    // Build a complete, valid submission for a template from its formFields definition
+    public static Map<String, Object> formData(FormTemplate template, Random random) {
+        Map<String, Map<String, Object>> fields = readFields(template);
+        Map<String, Object> data = new LinkedHashMap<>();
+        fields.forEach((name, definition) -> data.put(name, sampleValue(definition, random)));
+        return data;
+    }
+
+    public static List<User> users(int count, User.Role role) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String prefix = role.name().toLowerCase();
+            User user = new User(prefix + i, prefix + i + "@example.com", "{noop}password", role);
+            user.setId((long) (role.ordinal() * 1_000_000 + i + 1));
+            user.setDepartment(DEPARTMENTS[i % DEPARTMENTS.length]);
+            users.add(user);
+        }
+        return users;
+    }
+
+    // Synthetic forms spread over the last six months with realistic status mix
+    public static List<Form> forms(int count, List<FormTemplate> templates, List<User> students,
+                                   List<User> approvers, Random random) {
+        List<Form> forms = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            FormTemplate template = templates.get(random.nextInt(templates.size()));
+            Form form = new Form();
+            form.setId((long) i + 1);
+            form.setStudent(students.get(random.nextInt(students.size())));
+            form.setType(template.getName());
+            form.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            form.setSubmittedDate(now.minusMinutes(random.nextInt(180 * 24 * 60)));
+            form.setCurrentStep(1);
+            form.setTotalSteps(template.getTotalSteps());
+            form.setFormData(toJson(formData(template, random)));
+            if (!"Pending".equals(form.getStatus())) {
+                form.setApprovedBy(approvers.get(random.nextInt(approvers.size())));
+                form.setApprovedDate(form.getSubmittedDate().plusHours(random.nextInt(240)));
+            }
+            forms.add(form);
+        }
+        return forms;
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Map<String, Object>> readFields(FormTemplate template) {
+        try {
+            return OBJECT_MAPPER.readValue(template.getFormFields(),
+                    new TypeReference<Map<String, Map<String, Object>>>() {});
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object sampleValue(Map<String, Object> definition, Random random) {
+        String type = String.valueOf(definition.get("type"));
+        switch (type) {
+            case "number":
+                return definition.containsKey("step")
+                        ? Math.round((1 + random.nextDouble() * 3) * 100) / 100.0
+                        : 12 + random.nextInt(15);
+            case "date":
+                return LocalDate.now().plusDays(random.nextInt(120)).toString();
+            case "select":
+                List<?> options = (List<?>) definition.get("options");
+                return options.get(random.nextInt(options.size()));
+            case "file":
+                return "scan-" + random.nextInt(10_000) + ".pdf";
+            case "textarea":
+                return "I am requesting this because of scheduling conflicts with my major subjects. ".repeat(8);
+            default:
+                return "Sample " + definition.get("label");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.form.model.FormTemplate;
+import com.example.backend.form.service.FormService;
+import com.example.backend.form.service.TemplateValidatorCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Per-submission JSON work in FormService: template validation (served from the
+// compiled validator cache after the first call) and formData serialization, for
+// each of the default templates.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormServiceBenchmark {
+
+    @Param({"Shifting Request", "Overload Request", "Petition Form",
+            "Leave of Absence", "Graduation Application", "Scholarship Application"})
+    public String templateName;
+
+    private FormService formService;
+    private FormTemplate template;
+    private Map<String, Object> formData;
+    private String formDataJson;
+
+    private Method validateFormData;
+    private Method convertToJson;
+    private Method convertFromJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<FormTemplate> templates = BenchmarkFixtures.defaultTemplates();
+        template = BenchmarkFixtures.template(templates, templateName);
+        formData = BenchmarkFixtures.formData(template, new Random(42));
+        formDataJson = BenchmarkFixtures.toJson(formData);
+
+        formService = new FormService();
+        ReflectionTestUtils.setField(formService, "templateValidatorCache", new TemplateValidatorCache());
+        validateFormData = privateMethod("validateFormData", Map.class, FormTemplate.class);
+        convertToJson = privateMethod("convertToJson", Object.class);
+        convertFromJson = privateMethod("convertFromJson", String.class);
+    }
+
+    @Benchmark
+    public Object validateFormData() throws Exception {
+        return validateFormData.invoke(formService, formData, template);
+    }
+
+    @Benchmark
+    public Object convertToJson() throws Exception {
+        return convertToJson.invoke(formService, formData);
+    }
+
+    @Benchmark
+    public Object convertFromJson() throws Exception {
+        return convertFromJson.invoke(formService, formDataJson);
+    }
+
+    private static Method privateMethod(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = FormService.class.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return method;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.auth.config.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token validation throughput: the old per-call key/parser rebuild (as the filter
+// used to do it: extractUsername + validateToken + isTokenExpired) versus the shared
+// parser with single-pass validateAndExtract.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L);
+        token = jwtUtil.generateToken("student@example.com", "Student", 42L);
+    }
+
+    @Benchmark
+    public boolean legacyRebuildPerCall() {
+        String email = legacyParse(token).getSubject();
+        legacyParse(token);
+        boolean expired = legacyParse(token).getExpiration().before(new Date());
+        return email != null && !expired;
+    }
+
+    @Benchmark
+    public JwtUtil.TokenClaims validateAndExtract() {
+        return jwtUtil.validateAndExtract(token).orElseThrow();
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.AuthApplication;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormTemplate;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.ReportsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Report endpoints against an in-memory H2 database seeded with synthetic forms, so
+// both the queries and the Java-side assembly are measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportsServiceBenchmark {
+
+    @Param({"1000", "20000"})
+    public int formCount;
+
+    private ConfigurableApplicationContext context;
+    private ReportsService reportsService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret-0123456789",
+                        "jwt.expiration=86400000",
+                        "app.cors.allowed-origins=http://localhost",
+                        "google.client-id=benchmark",
+                        "google.client-secret=benchmark",
+                        "logging.level.root=WARN")
+                .run();
+
+        Random random = new Random(42);
+        List<FormTemplate> templates = BenchmarkFixtures.defaultTemplates();
+        List<User> students = BenchmarkFixtures.users(Math.max(10, formCount / 5), User.Role.Student);
+        List<User> approvers = BenchmarkFixtures.users(20, User.Role.Approver);
+        List<Form> forms = BenchmarkFixtures.forms(formCount, templates, students, approvers, random);
+
+        students.forEach(user -> user.setId(null));
+        approvers.forEach(user -> user.setId(null));
+        forms.forEach(form -> form.setId(null));
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        userRepository.saveAll(students);
+        userRepository.saveAll(approvers);
+        context.getBean(FormRepository.class).saveAll(forms);
+
+        reportsService = context.getBean(ReportsService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> formStatisticsByType() {
+        return reportsService.getFormStatisticsByType();
+    }
+
+    @Benchmark
+    public Map<String, Object> formStatisticsByDateRange() {
+        return reportsService.getFormStatisticsByDateRange(LocalDate.now().minusMonths(6), LocalDate.now());
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyTrends() {
+        return reportsService.getMonthlyTrends();
+    }
+
+    @Benchmark
+    public Map<String, Object> userActivity() {
+        return reportsService.getUserActivityStatistics();
+    }
+
+    @Benchmark
+    public Map<String, Object> approvalPerformance() {
+        return reportsService.getApprovalPerformanceStatistics();
+    }
+}
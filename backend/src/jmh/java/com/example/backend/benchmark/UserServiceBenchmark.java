@@ -0,0 +1,46 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+// Password login cost, dominated by BCrypt at the encoder's default strength.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserServiceBenchmark {
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        User user = new User("student1", "student1@example.com", passwordEncoder.encode("correct-horse"), User.Role.Student);
+        user.setId(1L);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsernameOrEmail("student1")).thenReturn(Optional.of(user));
+
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordEncoder", passwordEncoder);
+    }
+
+    @Benchmark
+    public Optional<User> authenticateUserSuccess() {
+        return userService.authenticateUser("student1", "correct-horse");
+    }
+
+    @Benchmark
+    public Optional<User> authenticateUserWrongPassword() {
+        return userService.authenticateUser("student1", "wrong-password");
+    }
+}
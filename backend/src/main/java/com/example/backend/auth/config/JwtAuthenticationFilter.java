@@ -21,35 +21,30 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    // EventSource cannot set headers, so the notification stream takes its token as a parameter
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
-        String jwt = null;
-        String email = null;
+        String jwt = resolveToken(request);
 
-        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            try {
-                email = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // Invalid token
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            // Fast path: token already verified and principal resolved
+            UserDetails userDetails = principalCache.get(jwt);
+            if (userDetails == null) {
+                userDetails = loadPrincipal(jwt);
             }
-        }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(email).orElse(null);
-            if (user != null && jwtUtil.validateToken(jwt)) {
-                UserDetails userDetails = org.springframework.security.core.userdetails.User
-                        .withUsername(user.getEmail())
-                        .password(user.getPassword() != null ? user.getPassword() : "")
-                        .authorities(user.getRole().name())
-                        .build();
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,4 +53,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    private String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        String queryToken = request.getParameter("access_token");
+        if (StringUtils.hasText(queryToken) && STREAM_PATH.equals(request.getServletPath())) {
+            return queryToken;
+        }
+        return null;
+    }
+
+    // Verify the token once, look the user up once, and cache the result
+    private UserDetails loadPrincipal(String jwt) {
+        JwtUtil.TokenClaims claims = jwtUtil.validateAndExtract(jwt).orElse(null);
+        if (claims == null) {
+            // Invalid or expired token
+            return null;
+        }
+
+        User user = userRepository.findByEmail(claims.email()).orElse(null);
+        if (user == null) {
+            return null;
+        }
+
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword() != null ? user.getPassword() : "")
+                .authorities(user.getRole().name())
+                .build();
+        principalCache.put(jwt, user.getId(), userDetails, claims.expiration());
+        return userDetails;
+    }
+}
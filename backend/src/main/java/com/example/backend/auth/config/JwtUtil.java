@@ -7,24 +7,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
-    
-    @Value("${jwt.secret}")
-    private String secret;
-    
-    @Value("${jwt.expiration}")
-    private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    // Derived once at startup; both SecretKey and JwtParser are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final Long expiration;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") Long expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
     }
-    
+
+    // Typed view of the claims this application puts in its tokens
+    public record TokenClaims(String email, String role, Long userId, Date issuedAt, Date expiration) {
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
+
     // Generate token with user details
     public String generateToken(String email, String role, Long userId) {
         Map<String, Object> claims = new HashMap<>();
@@ -32,7 +42,7 @@ public class JwtUtil {
         claims.put("userId", userId);
         return createToken(claims, email);
     }
-    
+
     // Create JWT token
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
@@ -40,42 +50,59 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
+
+    // Verify signature and expiry once and return the typed claims; empty if the token is invalid
+    public Optional<TokenClaims> validateAndExtract(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            TokenClaims tokenClaims = new TokenClaims(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.get("userId", Long.class),
+                    claims.getIssuedAt(),
+                    claims.getExpiration());
+            if (tokenClaims.email() == null || tokenClaims.isExpired()) {
+                return Optional.empty();
+            }
+            return Optional.of(tokenClaims);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     // Extract username from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
-    
+
     // Extract expiration date
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
-    
+
     // Extract role from token
     public String extractRole(String token) {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
-    
+
     // Extract user ID from token
     public Long extractUserId(String token) {
         return extractClaim(token, claims -> claims.get("userId", Long.class));
     }
-    
+
     // Extract any claim
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
-    
-    // Extract all claims - UPDATED METHOD
+
+    // Extract all claims using the shared parser
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -90,7 +117,7 @@ public class JwtUtil {
             throw new RuntimeException("JWT token compact of handler are invalid", e);
         }
     }
-    
+
     // Check if token is expired
     public Boolean isTokenExpired(String token) {
         try {
@@ -99,24 +126,16 @@ public class JwtUtil {
             return true;
         }
     }
-    
+
     // Validate token
     public Boolean validateToken(String token, String email) {
-        try {
-            final String tokenEmail = extractUsername(token);
-            return (tokenEmail.equals(email) && !isTokenExpired(token));
-        } catch (Exception e) {
-            return false;
-        }
+        return validateAndExtract(token)
+                .map(claims -> claims.email().equals(email))
+                .orElse(false);
     }
-    
+
     // Validate token without email check
     public Boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return validateAndExtract(token).isPresent();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.example.backend.auth.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// Bounded cache of authenticated principals keyed by a SHA-256 of the bearer token.
+// A hit means the exact token string was already verified, so the filter can skip
+// both signature verification and the Users lookup. Entries never outlive the token.
+@Component
+public class PrincipalCache {
+
+    @Value("${app.auth.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    // Get cached principal for a token, or null on miss/expiry
+    public UserDetails get(String token) {
+        String key = hash(token);
+        CachedPrincipal cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    // Cache a principal until the token expires or the TTL elapses, whichever comes first
+    public void put(String token, Long userId, UserDetails userDetails, Date tokenExpiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlSeconds * 1000;
+        if (tokenExpiration != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(hash(token), new CachedPrincipal(userId, userDetails, expiresAt));
+    }
+
+    // Drop every cached token belonging to a user (role, active flag or credentials changed)
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.values().removeIf(cached -> userId.equals(cached.userId));
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Purge expired entries first; if still full, drop an arbitrary tenth of the cache
+    private void makeRoom(long now) {
+        entries.values().removeIf(cached -> cached.isExpired(now));
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final Long userId;
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private CachedPrincipal(Long userId, UserDetails userDetails, long expiresAt) {
+            this.userId = userId;
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.backend.auth.config;
 
 import java.util.Arrays;
+
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +37,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Async redispatches of an already authorized request (notification stream)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/api/auth/login").permitAll()
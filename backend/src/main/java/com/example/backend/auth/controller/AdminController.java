@@ -1,5 +1,6 @@
 package com.example.backend.auth.controller;
 
+import com.example.backend.form.service.NotificationRetentionService;
 import com.example.backend.form.service.UserService;
 import com.example.backend.form.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,9 @@ public class AdminController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+    
     // FR2: User Management
     @GetMapping("/users")
     public ResponseEntity<List<User>> getUsers() {
@@ -78,6 +82,21 @@ public class AdminController {
         return ResponseEntity.ok("Audit trail (stub)");
     }
     
+    // Progress of the running notification retention job, or the result of the last run
+    @GetMapping("/notifications/retention")
+    public ResponseEntity<NotificationRetentionService.RetentionStatus> getNotificationRetention() {
+        return ResponseEntity.ok(notificationRetentionService.getStatus());
+    }
+
+    // Start a notification retention run now instead of waiting for the schedule
+    @PostMapping("/notifications/retention/run")
+    public ResponseEntity<?> runNotificationRetention() {
+        if (!notificationRetentionService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Notification retention is already running");
+        }
+        return ResponseEntity.accepted().body(notificationRetentionService.getStatus());
+    }
+    
     // --- User CRUD Endpoints ---
     @PostMapping("/users")
     public ResponseEntity<User> createUser(@RequestBody User user) {
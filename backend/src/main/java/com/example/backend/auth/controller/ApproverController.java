@@ -1,23 +1,26 @@
 package com.example.backend.auth.controller;
 
-import java.util.List;
-import java.util.Map;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.backend.form.repository.FormRepository;
 import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.ApproverQueueService;
+import com.example.backend.form.service.FormSearchIndex;
+import com.example.backend.form.service.StatisticsService;
+import com.example.backend.form.model.CursorPage;
 import com.example.backend.form.model.Form;
-import com.example.backend.form.model.User;
+import com.example.backend.form.model.FormSummary;
 
 @RestController
 @RequestMapping("/api/approver")
@@ -26,26 +29,28 @@ public class ApproverController {
     private FormRepository formRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private StatisticsService statisticsService;
+    @Autowired
+    private FormSearchIndex formSearchIndex;
+    @Autowired
+    private ApproverQueueService approverQueueService;
 
-    // FR5: Approver Dashboard - Pending Requests
+    // FR5: Approver Dashboard - Pending Requests, as the approver's work queue: their
+    // department's pending forms, oldest first, one keyset page at a time
     @GetMapping("/forms/pending")
-    public ResponseEntity<?> getPendingForms() {
-        List<Map<String, Object>> pendingForms = formRepository.findAll().stream()
-            .filter(f -> "Pending".equalsIgnoreCase(f.getStatus()))
-            .map(f -> {
-                Map<String, Object> formMap = new java.util.HashMap<>();
-                formMap.put("id", f.getId());
-                formMap.put("type", f.getType());
-                formMap.put("status", f.getStatus());
-                formMap.put("submittedDate", f.getSubmittedDate());
-                formMap.put("currentStep", f.getCurrentStep());
-                formMap.put("totalSteps", f.getTotalSteps());
-                User student = f.getStudent();
-                formMap.put("studentName", student != null ? (student.getUsername() != null ? student.getUsername() : student.getEmail()) : "");
-                return formMap;
-            })
-            .collect(java.util.stream.Collectors.toCollection(java.util.ArrayList::new));
-        return ResponseEntity.ok(pendingForms);
+    public ResponseEntity<CursorPage<FormSummary>> getPendingForms(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int size) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(approverQueueService.getQueue(email, cursor, size));
+    }
+
+    // Ranked full-text search over form type, status, student, field values, comments and attachment names
+    @GetMapping("/search")
+    public ResponseEntity<FormSearchIndex.SearchPage> searchForms(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(formSearchIndex.search(q, page, size));
     }
 
     // FR4: Approval Workflow - Approve/Reject
@@ -67,8 +72,11 @@ public class ApproverController {
     public ResponseEntity<?> approveForm(@PathVariable Long formId) {
         Form form = formRepository.findById(formId).orElse(null);
         if (form == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Form not found");
+        String previousStatus = form.getStatus();
         form.setStatus("Approved");
         formRepository.save(form);
+        statisticsService.formStatusChanged(previousStatus, "Approved");
+        formSearchIndex.statusChanged(formId, "Approved");
         return ResponseEntity.ok("Form approved");
     }
 
@@ -77,8 +85,11 @@ public class ApproverController {
     public ResponseEntity<?> rejectForm(@PathVariable Long formId) {
         Form form = formRepository.findById(formId).orElse(null);
         if (form == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Form not found");
+        String previousStatus = form.getStatus();
         form.setStatus("Rejected");
         formRepository.save(form);
+        statisticsService.formStatusChanged(previousStatus, "Rejected");
+        formSearchIndex.statusChanged(formId, "Rejected");
         return ResponseEntity.ok("Form rejected");
     }
 } 
\ No newline at end of file
@@ -222,9 +222,9 @@ public class AuthController {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-                Optional<User> userOpt = userService.findByEmail(email);
+            Optional<JwtUtil.TokenClaims> claims = jwtUtil.validateAndExtract(token);
+            if (claims.isPresent()) {
+                Optional<User> userOpt = userService.findByEmail(claims.get().email());
 
                 if (userOpt.isPresent()) {
                     User user = userOpt.get();
@@ -257,12 +257,10 @@ public class AuthController {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                Long userId = jwtUtil.extractUserId(token);
-
-                String newToken = jwtUtil.generateToken(email, role, userId);
+            Optional<JwtUtil.TokenClaims> claims = jwtUtil.validateAndExtract(token);
+            if (claims.isPresent()) {
+                JwtUtil.TokenClaims tokenClaims = claims.get();
+                String newToken = jwtUtil.generateToken(tokenClaims.email(), tokenClaims.role(), tokenClaims.userId());
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", newToken);
@@ -293,9 +291,9 @@ public class AuthController {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-                Optional<User> userOpt = userService.findByEmail(email);
+            Optional<JwtUtil.TokenClaims> claims = jwtUtil.validateAndExtract(token);
+            if (claims.isPresent()) {
+                Optional<User> userOpt = userService.findByEmail(claims.get().email());
 
                 if (userOpt.isPresent()) {
                     User user = userOpt.get();
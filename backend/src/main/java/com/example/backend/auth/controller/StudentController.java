@@ -15,12 +15,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.backend.form.repository.FormRepository;
 import com.example.backend.form.repository.NotificationRepository;
 import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.FormSearchIndex;
+import com.example.backend.form.service.FormService;
+import com.example.backend.form.service.NotificationDigester;
 import com.example.backend.form.service.NotificationService;
+import com.example.backend.form.service.StatisticsService;
+import com.example.backend.form.service.UserService;
 import com.example.backend.form.model.Form;
 import com.example.backend.form.model.User;
 import com.example.backend.form.model.Notification;
@@ -40,6 +46,21 @@ public class StudentController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private FormSearchIndex formSearchIndex;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private NotificationDigester notificationDigester;
+
+    @Autowired
+    private UserService userService;
+
     // Submit a new form
     @PostMapping("/forms")
     public ResponseEntity<?> submitForm(@RequestBody(required = false) java.util.Map<String, Object> formRequest) {
@@ -49,12 +70,15 @@ public class StudentController {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
         Form form = new Form();
         form.setStudent(user);
+        form.setDepartment(user.getDepartment());
         form.setType(formRequest != null && formRequest.get("type") != null ? (String) formRequest.get("type") : "General");
         form.setStatus("Pending");
         form.setSubmittedDate(LocalDateTime.now());
         form.setCurrentStep(1);
         form.setTotalSteps(3);
         formRepository.save(form);
+        statisticsService.formCreated(form.getStatus());
+        formSearchIndex.formSaved(form, java.util.Map.of());
         return ResponseEntity.status(HttpStatus.CREATED).body(form);
     }
 
@@ -66,7 +90,7 @@ public class StudentController {
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
         List<Form> forms = formRepository.findByStudent(user);
-        return ResponseEntity.ok(forms);
+        return ResponseEntity.ok(formService.withStepData(forms));
     }
 
     // Get status for a specific form
@@ -76,7 +100,7 @@ public class StudentController {
         if (formOpt.isEmpty()) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Form not found");
         Form form = formOpt.get();
         // Optionally check if the current user is the owner
-        return ResponseEntity.ok(form);
+        return ResponseEntity.ok(formService.withStepData(form));
     }
 
     // Get current student profile
@@ -112,22 +136,24 @@ public class StudentController {
         if (updates.containsKey("department")) {
             user.setDepartment((String) updates.get("department"));
         }
-        userRepository.save(user);
+        // Through UserService so the cached principal for the old email is evicted
+        userService.updateUser(user);
         return ResponseEntity.ok("Profile updated");
     }
 
     // ========== NOTIFICATION ENDPOINTS ==========
 
-    // Get all notifications for the current student
+    // One page of the current student's notifications, newest first; optional status filter
     @GetMapping("/notifications")
-    public ResponseEntity<?> getNotifications() {
+    public ResponseEntity<?> getNotifications(@RequestParam(required = false) String status,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
         
-        List<Notification> notifications = notificationService.getUserNotifications(user);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notificationService.getNotificationPage(user, status, null, cursor, size));
     }
 
     // Create a new notification
@@ -142,6 +168,11 @@ public class StudentController {
         String message = (String) notificationRequest.get("message");
         String type = (String) notificationRequest.getOrDefault("type", "system");
         String relatedFormId = (String) notificationRequest.get("relatedFormId");
+        // Digest types (approvals, rejections, submissions) are raised by the server only;
+        // a client-made one would be folded into, and overwrite, a real digest
+        if (notificationDigester.isDigested(type)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Notification type '" + type + "' cannot be created by clients");
+        }
         
         Notification notification = notificationService.createNotification(user, title, message, type);
         if (relatedFormId != null) {
@@ -164,16 +195,17 @@ public class StudentController {
         return ResponseEntity.ok(java.util.Map.of("unreadCount", unreadCount));
     }
 
-    // Get unread notifications only
+    // Get unread notifications only, one page at a time
     @GetMapping("/notifications/unread")
-    public ResponseEntity<?> getUnreadNotifications() {
+    public ResponseEntity<?> getUnreadNotifications(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
         
-        List<Notification> notifications = notificationService.getUnreadNotifications(user);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notificationService.getNotificationPage(
+            user, Notification.NotificationStatus.UNREAD.name(), null, cursor, size));
     }
 
     // Mark a notification as read
@@ -242,15 +274,16 @@ public class StudentController {
         return ResponseEntity.ok(stats);
     }
 
-    // Get notifications by type
+    // Get notifications by type, one page at a time
     @GetMapping("/notifications/type/{type}")
-    public ResponseEntity<?> getNotificationsByType(@PathVariable String type) {
+    public ResponseEntity<?> getNotificationsByType(@PathVariable String type,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
         User user = userRepository.findByEmail(email).orElse(null);
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
         
-        List<Notification> notifications = notificationService.getNotificationsByType(user, type);
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notificationService.getNotificationPage(user, null, type, cursor, size));
     }
 } 
\ No newline at end of file
@@ -3,23 +3,19 @@ package com.example.backend.form.controller;
 import com.example.backend.form.model.FileUpload;
 import com.example.backend.form.model.Form;
 import com.example.backend.form.model.User;
+import com.example.backend.form.service.FileDownloadService;
 import com.example.backend.form.service.FileUploadService;
 import com.example.backend.form.service.FormService;
 import com.example.backend.form.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +27,9 @@ public class FileUploadController {
     @Autowired
     private FileUploadService fileUploadService;
 
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
     @Autowired
     private FormService formService;
 
@@ -65,6 +64,40 @@ public class FileUploadController {
         }
     }
 
+    // Upload file as a raw request body, streamed straight to storage without multipart buffering
+    @PostMapping("/upload/{formId}/stream")
+    public ResponseEntity<FileUpload> uploadFileStream(
+            @PathVariable Long formId,
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "description", required = false) String description,
+            Authentication authentication,
+            HttpServletRequest request) {
+        
+        try {
+            User user = userService.findByEmail(authentication.getName()).orElse(null);
+            Form form = formService.getFormById(formId);
+            
+            if (form == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            String ipAddress = getClientIpAddress(request);
+            String userAgent = request.getHeader("User-Agent");
+            
+            String contentType = request.getContentType();
+            if (contentType != null && contentType.contains(";")) {
+                contentType = contentType.substring(0, contentType.indexOf(';')).trim();
+            }
+            
+            FileUpload uploadedFile = fileUploadService.uploadStream(
+                request.getInputStream(), fileName, contentType, form, user, description, ipAddress, userAgent);
+            return ResponseEntity.ok(uploadedFile);
+            
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get files for a form
     @GetMapping("/form/{formId}")
     public ResponseEntity<List<FileUpload>> getFilesByForm(@PathVariable Long formId) {
@@ -84,54 +117,28 @@ public class FileUploadController {
         return ResponseEntity.ok(files);
     }
 
-    // Download file
+    // Download file; supports Range, If-Range and conditional GET
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId) {
-        try {
-            FileUpload fileUpload = fileUploadService.getFileById(fileId);
-            if (fileUpload == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Path filePath = Paths.get(fileUpload.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"" + fileUpload.getOriginalFileName() + "\"")
-                    .contentType(MediaType.parseMediaType(fileUpload.getFileType()))
-                    .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (IOException e) {
-            return ResponseEntity.badRequest().build();
+    public void downloadFile(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileUpload fileUpload = fileUploadService.getFileById(fileId);
+        if (fileUpload == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+
+        fileDownloadService.serve(fileUpload, true, request, response);
     }
 
-    // View file (for images, PDFs, etc.)
+    // View file (for images, PDFs, etc.); PDF viewers fetch pages with Range requests
     @GetMapping("/view/{fileId}")
-    public ResponseEntity<Resource> viewFile(@PathVariable Long fileId) {
-        try {
-            FileUpload fileUpload = fileUploadService.getFileById(fileId);
-            if (fileUpload == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Path filePath = Paths.get(fileUpload.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(fileUpload.getFileType()))
-                    .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (IOException e) {
-            return ResponseEntity.badRequest().build();
+    public void viewFile(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileUpload fileUpload = fileUploadService.getFileById(fileId);
+        if (fileUpload == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+
+        fileDownloadService.serve(fileUpload, false, request, response);
     }
 
     // Delete file
@@ -172,6 +179,19 @@ public class FileUploadController {
         return ResponseEntity.ok(stats);
     }
 
+    // Get file statistics for a specific uploader
+    @GetMapping("/statistics/user/{userId}")
+    public ResponseEntity<FileUploadService.FileStatistics> getFileStatisticsByUser(@PathVariable Long userId) {
+        FileUploadService.FileStatistics stats = fileUploadService.getFileStatisticsByUser(userId);
+        return ResponseEntity.ok(stats);
+    }
+
+    // Get file statistics per MIME type
+    @GetMapping("/statistics/types")
+    public ResponseEntity<Map<String, FileUploadService.FileStatistics>> getFileStatisticsByType() {
+        return ResponseEntity.ok(fileUploadService.getFileStatisticsByType());
+    }
+
     // Helper method to get client IP address
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
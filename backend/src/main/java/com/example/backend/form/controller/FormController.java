@@ -1,13 +1,19 @@
 package com.example.backend.form.controller;
 
+import com.example.backend.form.model.CursorPage;
 import com.example.backend.form.model.Form;
 import com.example.backend.form.model.FormComment;
+import com.example.backend.form.model.FormStepData;
+import com.example.backend.form.model.FormSummary;
 import com.example.backend.form.service.FormService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Arrays;
@@ -111,6 +117,28 @@ public class FormController {
         return ResponseEntity.ok(formService.getFormById(formId));
     }
 
+    // Assembled form data: submitted fields plus every saved step
+    @GetMapping("/{formId}/data")
+    public ResponseEntity<Map<String, Object>> getFormData(@PathVariable Long formId) {
+        return ResponseEntity.ok(formService.getFormData(formId));
+    }
+
+    // Student: save the fields of one step of their own pending form; pass the version
+    // from the previous save to reject stale saves
+    @PutMapping("/{formId}/steps/{step}")
+    public ResponseEntity<Map<String, Object>> updateFormStep(@PathVariable Long formId, @PathVariable Integer step,
+                                                              @RequestParam(required = false) Long expectedVersion,
+                                                              @RequestBody Map<String, Object> stepData) {
+        String userEmail = getCurrentUserEmail();
+        FormStepData saved = formService.updateFormStep(formId, step, stepData, expectedVersion, userEmail);
+        Map<String, Object> response = new HashMap<>();
+        response.put("formId", formId);
+        response.put("step", saved.getStepNumber());
+        response.put("version", saved.getVersion());
+        response.put("updatedAt", saved.getUpdatedAt());
+        return ResponseEntity.ok(response);
+    }
+
     // Get form statistics (admin/approver)
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getFormStatistics() {
@@ -119,28 +147,35 @@ public class FormController {
 
     // Approver: Filter/search forms
     @GetMapping("/filter")
-    public ResponseEntity<List<Form>> filterForms(
+    public ResponseEntity<CursorPage<FormSummary>> filterForms(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String studentName,
-            @RequestParam(required = false) String keyword) {
-        return ResponseEntity.ok(formService.filterForms(status, type, studentName, keyword));
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<String> field,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(formService.filterForms(status, type, studentName, keyword, field, cursor, size));
     }
 
     // Approver: Bulk approve forms
     @PostMapping("/bulk-approve")
-    public ResponseEntity<List<Form>> bulkApproveForms(@RequestBody BulkActionRequest request) {
+    public ResponseEntity<FormService.BulkDecisionReport> bulkApproveForms(@RequestBody BulkActionRequest request,
+                                                                          HttpServletRequest httpRequest) {
         String userEmail = getCurrentUserEmail();
-        List<Form> updated = formService.bulkApproveForms(request.getFormIds(), userEmail, request.getComments());
-        return ResponseEntity.ok(updated);
+        FormService.BulkDecisionReport report = formService.bulkApproveForms(request.getFormIds(), userEmail,
+            request.getComments(), httpRequest.getRemoteAddr(), httpRequest.getHeader("User-Agent"));
+        return ResponseEntity.ok(report);
     }
 
     // Approver: Bulk reject forms
     @PostMapping("/bulk-reject")
-    public ResponseEntity<List<Form>> bulkRejectForms(@RequestBody BulkActionRequest request) {
+    public ResponseEntity<FormService.BulkDecisionReport> bulkRejectForms(@RequestBody BulkActionRequest request,
+                                                                         HttpServletRequest httpRequest) {
         String userEmail = getCurrentUserEmail();
-        List<Form> updated = formService.bulkRejectForms(request.getFormIds(), userEmail, request.getComments());
-        return ResponseEntity.ok(updated);
+        FormService.BulkDecisionReport report = formService.bulkRejectForms(request.getFormIds(), userEmail,
+            request.getComments(), httpRequest.getRemoteAddr(), httpRequest.getHeader("User-Agent"));
+        return ResponseEntity.ok(report);
     }
 
     // Add a comment to a form
@@ -3,6 +3,7 @@ package com.example.backend.form.controller;
 import com.example.backend.form.model.FormTemplate;
 import com.example.backend.form.service.FormTemplateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -20,10 +21,13 @@ public class FormTemplateController {
         return ResponseEntity.ok(formTemplateService.getAllTemplates());
     }
 
-    // Student: Get all active templates
+    // Student: Get all active templates; clients revalidate with If-None-Match
     @GetMapping("")
     public ResponseEntity<List<FormTemplate>> getActiveTemplates() {
-        return ResponseEntity.ok(formTemplateService.getActiveTemplates());
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(formTemplateService.getCatalogVersion())
+            .body(formTemplateService.getActiveTemplates());
     }
 
     // Admin: Create a new template
@@ -61,6 +65,9 @@ public class FormTemplateController {
     // (Optional) Get templates by department
     @GetMapping("/department/{department}")
     public ResponseEntity<List<FormTemplate>> getTemplatesByDepartment(@PathVariable String department) {
-        return ResponseEntity.ok(formTemplateService.getTemplatesByDepartment(department));
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(formTemplateService.getCatalogVersion())
+            .body(formTemplateService.getTemplatesByDepartment(department));
     }
 } 
\ No newline at end of file
@@ -5,10 +5,13 @@ import com.example.backend.form.model.User;
 import com.example.backend.form.repository.UserRepository;
 import com.example.backend.form.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.example.backend.form.service.NotificationPushService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 @RestController
@@ -19,6 +22,8 @@ public class NotificationController {
     private NotificationService notificationService;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private NotificationPushService notificationPushService;
 
     // Get all notifications for the current user
     @GetMapping({"", "/"})
@@ -27,6 +32,16 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getUserNotifications(user));
     }
 
+    // Stream new notifications as server-sent events; on reconnect the browser sends
+    // Last-Event-ID and anything missed in between is replayed first
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                          @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        User user = getCurrentUser();
+        String after = lastEventId != null && !lastEventId.isBlank() ? lastEventId : lastEventIdParam;
+        return notificationPushService.subscribe(user, after, notificationService.getUnreadCount(user));
+    }
+
     // Get unread notifications for the current user
     @GetMapping("/unread")
     public ResponseEntity<List<Notification>> getUnreadNotifications() {
@@ -0,0 +1,31 @@
+package com.example.backend.form.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated listing. Pass nextCursor back to fetch the following page.
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Page from rows queried with a limit of pageSize + 1: the extra row only tells
+    // whether another page exists, and the cursor points at the last row kept
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
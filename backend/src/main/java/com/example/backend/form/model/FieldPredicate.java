@@ -0,0 +1,70 @@
+package com.example.backend.form.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+// A condition on one formData field, answered from form_field_values. Written in
+// query strings as field:op:value, e.g. requestedUnits:gt:24 or
+// targetCourse:eq:BS Nursing. eq and contains compare text case-insensitively;
+// gt/gte/lt/lte compare numbers, or ISO dates when the value is a date.
+public class FieldPredicate {
+
+    public enum Operator { EQ, CONTAINS, GT, GTE, LT, LTE }
+
+    private final String field;
+    private final Operator operator;
+    private final String value;
+
+    public FieldPredicate(String field, Operator operator, String value) {
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public String getField() { return field; }
+    public Operator getOperator() { return operator; }
+    public String getValue() { return value; }
+
+    public boolean isRange() {
+        return operator != Operator.EQ && operator != Operator.CONTAINS;
+    }
+
+    // Range bound as a number, or null when the value is not numeric
+    public BigDecimal getNumber() {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Range bound as a date, or null when the value is not an ISO date
+    public LocalDate getDate() {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Parse field:op:value; the value may itself contain colons
+    public static FieldPredicate parse(String expression) {
+        String[] parts = expression == null ? new String[0] : expression.split(":", 3);
+        if (parts.length != 3 || parts[0].isBlank() || parts[2].isBlank()) {
+            throw new RuntimeException("Invalid field filter: " + expression);
+        }
+        Operator operator;
+        try {
+            operator = Operator.valueOf(parts[1].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid field filter operator: " + parts[1]);
+        }
+        FieldPredicate predicate = new FieldPredicate(parts[0].trim(), operator, parts[2]);
+        if (predicate.isRange() && predicate.getNumber() == null && predicate.getDate() == null) {
+            throw new RuntimeException("Field filter " + operator.name().toLowerCase(Locale.ROOT)
+                + " needs a number or a yyyy-MM-dd date: " + expression);
+        }
+        return predicate;
+    }
+}
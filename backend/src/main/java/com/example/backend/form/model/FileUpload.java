@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
-@Table(name = "file_uploads")
+@Table(name = "file_uploads", indexes = {
+    @Index(name = "idx_file_uploads_content_hash", columnList = "content_hash")
+})
 public class FileUpload {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +46,9 @@ public class FileUpload {
     @Column(nullable = false)
     private boolean isActive = true;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the stored bytes, hex encoded
+
     // Constructors
     public FileUpload() {}
 
@@ -93,6 +98,9 @@ public class FileUpload {
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { isActive = active; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     // Helper methods
     public String getFileSizeFormatted() {
         if (fileSize < 1024) {
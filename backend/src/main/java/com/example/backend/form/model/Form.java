@@ -6,13 +6,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.Column;
+import jakarta.persistence.Transient;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "forms")
+@Table(name = "forms", indexes = {
+    @Index(name = "idx_forms_status_type_submitted", columnList = "status, type, submitted_date"),
+    @Index(name = "idx_forms_submitted", columnList = "submitted_date"),
+    @Index(name = "idx_forms_queue", columnList = "status, department, submitted_date, id"),
+    @Index(name = "idx_forms_pending", columnList = "status, submitted_date, id")
+})
 public class Form {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,16 +44,29 @@ public class Form {
     private int currentStep;
     private int totalSteps;
 
+    @Column(length = 100)
+    private String department; // Student's department at submission, copied for the approver queue index
+
     @Column(columnDefinition = "TEXT")
     private String formData; // JSON data for form fields
 
     @Column(columnDefinition = "TEXT")
     private String comments; // Comments from approver
 
+    @Transient
+    private String stepFormData; // formData overlaid with saved steps, attached when the form is served
+
+    @Version
+    @Column(nullable = false)
+    private long version; // Optimistic lock, bumped on every update
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     public User getStudent() { return student; }
     public void setStudent(User student) { this.student = student; }
 
@@ -67,9 +91,20 @@ public class Form {
     public int getTotalSteps() { return totalSteps; }
     public void setTotalSteps(int totalSteps) { this.totalSteps = totalSteps; }
 
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    @JsonIgnore
     public String getFormData() { return formData; }
+    @JsonProperty("formData")
     public void setFormData(String formData) { this.formData = formData; }
 
+    // Clients read formData as the full form: the submitted fields plus every saved
+    // step, once FormService.withStepData has attached them
+    @JsonProperty("formData")
+    public String getServedFormData() { return stepFormData != null ? stepFormData : formData; }
+    public void attachStepFormData(String stepFormData) { this.stepFormData = stepFormData; }
+
     public String getComments() { return comments; }
     public void setComments(String comments) { this.comments = comments; }
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.backend.form.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Locale;
+
+// One field value of a form's formData, kept in typed, indexed columns so field
+// predicates are answered by index lookups instead of parsing every formData blob.
+// List values produce one row per element. numberValue and dateValue are set only
+// when the text parses as a number or an ISO date.
+@Entity
+@Table(name = "form_field_values", indexes = {
+    @Index(name = "idx_field_values_form", columnList = "form_id"),
+    @Index(name = "idx_field_values_text", columnList = "field_name, text_value"),
+    @Index(name = "idx_field_values_number", columnList = "field_name, number_value"),
+    @Index(name = "idx_field_values_date", columnList = "field_name, date_value")
+})
+public class FormFieldValue {
+    public static final int MAX_TEXT_LENGTH = 255;
+    public static final int MAX_FIELD_NAME_LENGTH = 100;
+
+    // Largest magnitude that fits number_value DECIMAL(19,4)
+    private static final BigDecimal MAX_NUMBER = new BigDecimal("1E15");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "form_id", nullable = false)
+    private Form form;
+
+    @Column(name = "field_name", nullable = false, length = MAX_FIELD_NAME_LENGTH)
+    private String fieldName;
+
+    @Column(name = "text_value", length = MAX_TEXT_LENGTH)
+    private String textValue; // Lower-cased, truncated to MAX_TEXT_LENGTH
+
+    @Column(name = "number_value", precision = 19, scale = 4)
+    private BigDecimal numberValue;
+
+    @Column(name = "date_value")
+    private LocalDate dateValue;
+
+    public FormFieldValue() {}
+
+    public FormFieldValue(Form form, String fieldName, String textValue, BigDecimal numberValue, LocalDate dateValue) {
+        this.form = form;
+        this.fieldName = fieldName;
+        this.textValue = textValue;
+        this.numberValue = numberValue;
+        this.dateValue = dateValue;
+    }
+
+    // Text as stored and compared: trimmed, lower-cased, cut to the column length
+    public static String normalizeText(String text) {
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TEXT_LENGTH ? normalized.substring(0, MAX_TEXT_LENGTH) : normalized;
+    }
+
+    // Number as stored, or null when it does not fit the column
+    public static BigDecimal normalizeNumber(BigDecimal number) {
+        if (number == null || number.abs().compareTo(MAX_NUMBER) >= 0) {
+            return null;
+        }
+        return number.setScale(4, RoundingMode.HALF_UP);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Form getForm() { return form; }
+    public void setForm(Form form) { this.form = form; }
+
+    public String getFieldName() { return fieldName; }
+    public void setFieldName(String fieldName) { this.fieldName = fieldName; }
+
+    public String getTextValue() { return textValue; }
+    public void setTextValue(String textValue) { this.textValue = textValue; }
+
+    public BigDecimal getNumberValue() { return numberValue; }
+    public void setNumberValue(BigDecimal numberValue) { this.numberValue = numberValue; }
+
+    public LocalDate getDateValue() { return dateValue; }
+    public void setDateValue(LocalDate dateValue) { this.dateValue = dateValue; }
+}
@@ -0,0 +1,61 @@
+package com.example.backend.form.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// The fields saved for one step of a multi-step form. A step save rewrites only
+// this row, so saves of different steps never touch each other; the version makes
+// a save based on a stale read of the same step fail instead of overwriting it.
+// Form.formData keeps the fields given at submission; FormService.getFormData
+// overlays the steps on it in step order.
+@Entity
+@Table(name = "form_step_data", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_form_step_data_form_step", columnNames = {"form_id", "step_number"})
+})
+public class FormStepData {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "form_id", nullable = false)
+    private Form form;
+
+    @Column(name = "step_number", nullable = false)
+    private int stepNumber;
+
+    @Column(columnDefinition = "TEXT")
+    private String data; // JSON object of this step's fields
+
+    @Version
+    @Column(nullable = false)
+    private long version; // Optimistic lock, bumped on every save of this step
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public FormStepData() {}
+
+    public FormStepData(Form form, int stepNumber) {
+        this.form = form;
+        this.stepNumber = stepNumber;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Form getForm() { return form; }
+    public void setForm(Form form) { this.form = form; }
+
+    public int getStepNumber() { return stepNumber; }
+    public void setStepNumber(int stepNumber) { this.stepNumber = stepNumber; }
+
+    public String getData() { return data; }
+    public void setData(String data) { this.data = data; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
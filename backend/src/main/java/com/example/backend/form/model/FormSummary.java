@@ -0,0 +1,43 @@
+package com.example.backend.form.model;
+
+import java.time.LocalDateTime;
+
+// Lightweight read model for form listings. Never carries formData or comments,
+// so list endpoints don't drag TEXT columns or full User rows into memory.
+public class FormSummary {
+    private final Long id;
+    private final String type;
+    private final String status;
+    private final LocalDateTime submittedDate;
+    private final LocalDateTime approvedDate;
+    private final Integer currentStep;
+    private final Integer totalSteps;
+    private final Long studentId;
+    private final String studentName;
+    private final String studentEmail;
+
+    public FormSummary(Long id, String type, String status, LocalDateTime submittedDate, LocalDateTime approvedDate,
+                       Integer currentStep, Integer totalSteps, Long studentId, String studentName, String studentEmail) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.submittedDate = submittedDate;
+        this.approvedDate = approvedDate;
+        this.currentStep = currentStep;
+        this.totalSteps = totalSteps;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+    }
+
+    public Long getId() { return id; }
+    public String getType() { return type; }
+    public String getStatus() { return status; }
+    public LocalDateTime getSubmittedDate() { return submittedDate; }
+    public LocalDateTime getApprovedDate() { return approvedDate; }
+    public Integer getCurrentStep() { return currentStep; }
+    public Integer getTotalSteps() { return totalSteps; }
+    public Long getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public String getStudentEmail() { return studentEmail; }
+}
@@ -50,10 +50,17 @@ public class FormTemplate {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version; // Bumped on every update; keys compiled validators
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -0,0 +1,45 @@
+package com.example.backend.form.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque (timestamp, id) position used for seek pagination. The id breaks ties
+// between rows sharing the same timestamp.
+public class KeysetCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime timestamp, Long id) {
+        // A null timestamp would encode as "null|id", which decode cannot read back
+        if (timestamp == null || id == null) {
+            throw new IllegalArgumentException("A cursor needs both a timestamp and an id");
+        }
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Long getId() { return id; }
+
+    // Encode as a URL-safe token
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Decode a token produced by encode(); null or blank means "first page"
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor", e);
+        }
+    }
+}
@@ -2,19 +2,37 @@ package com.example.backend.form.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "notifications")
+// Inbox pages seek on (user_id, created_at), or (user_id, status, created_at) when
+// filtered by status; InnoDB appends the id to both, which breaks keyset ties.
+// Retention reads the oldest rows first through created_at, and the digester finds
+// a recipient's open digest through (user_id, type, digest_window). created_at never
+// changes, so a folded digest keeps its place in the keyset. last_activity_at is set
+// on every row (created_at, then the latest fold of a digest); the push stream's event
+// ids and replays are positions in (user_id, last_activity_at).
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_status_created", columnList = "user_id, status, created_at"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_notifications_created", columnList = "created_at"),
+    @Index(name = "idx_notifications_digest", columnList = "user_id, type, digest_window"),
+    @Index(name = "idx_notifications_user_activity", columnList = "user_id, last_activity_at")
+})
 public class Notification {
+    public static final int MAX_RELATED_FORM_IDS_LENGTH = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,6 +53,15 @@ public class Notification {
     private String relatedFormId; // ID of related form if applicable
     private String actionUrl; // URL for action if applicable
 
+    // Digest rows (see NotificationDigester): start of the window the row collects,
+    // how many it stands for, and their form ids, oldest first. lastActivityAt is
+    // createdAt, or for a digest when a notification was last folded in.
+    private LocalDateTime digestWindow;
+    private LocalDateTime lastActivityAt;
+    private Integer digestCount;
+    @Column(length = MAX_RELATED_FORM_IDS_LENGTH)
+    private String relatedFormIds;
+
     public enum NotificationStatus {
         UNREAD, READ, ARCHIVED
     }
@@ -133,6 +160,45 @@ public class Notification {
         this.actionUrl = actionUrl;
     }
 
+    public LocalDateTime getDigestWindow() {
+        return digestWindow;
+    }
+
+    public void setDigestWindow(LocalDateTime digestWindow) {
+        this.digestWindow = digestWindow;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    @PrePersist
+    void defaultLastActivityAt() {
+        if (lastActivityAt == null) {
+            lastActivityAt = createdAt;
+        }
+    }
+
+    public int getDigestCount() {
+        return digestCount != null ? digestCount : 1;
+    }
+
+    public void setDigestCount(Integer digestCount) {
+        this.digestCount = digestCount;
+    }
+
+    public String getRelatedFormIds() {
+        return relatedFormIds;
+    }
+
+    public void setRelatedFormIds(String relatedFormIds) {
+        this.relatedFormIds = relatedFormIds;
+    }
+
     // Helper methods
     public void markAsRead() {
         this.status = NotificationStatus.READ;
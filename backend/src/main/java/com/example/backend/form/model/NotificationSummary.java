@@ -0,0 +1,54 @@
+package com.example.backend.form.model;
+
+import java.time.LocalDateTime;
+
+// Lightweight read model for notification listings. Carries the owner's id rather
+// than the User, so a page of notifications is one narrow query.
+public class NotificationSummary {
+    private final Long id;
+    private final Long userId;
+    private final String title;
+    private final String message;
+    private final String type;
+    private final Notification.NotificationStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime readAt;
+    private final LocalDateTime lastActivityAt;
+    private final String relatedFormId;
+    private final String actionUrl;
+    private final Integer digestCount;
+    private final String relatedFormIds;
+
+    public NotificationSummary(Long id, Long userId, String title, String message, String type,
+                               Notification.NotificationStatus status, LocalDateTime createdAt, LocalDateTime readAt,
+                               LocalDateTime lastActivityAt, String relatedFormId, String actionUrl,
+                               Integer digestCount, String relatedFormIds) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.readAt = readAt;
+        this.lastActivityAt = lastActivityAt;
+        this.relatedFormId = relatedFormId;
+        this.actionUrl = actionUrl;
+        this.digestCount = digestCount != null ? digestCount : 1;
+        this.relatedFormIds = relatedFormIds;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getTitle() { return title; }
+    public String getMessage() { return message; }
+    public String getType() { return type; }
+    public Notification.NotificationStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getReadAt() { return readAt; }
+    public LocalDateTime getLastActivityAt() { return lastActivityAt; }
+    public String getRelatedFormId() { return relatedFormId; }
+    public String getActionUrl() { return actionUrl; }
+    public Integer getDigestCount() { return digestCount; }
+    public String getRelatedFormIds() { return relatedFormIds; }
+}
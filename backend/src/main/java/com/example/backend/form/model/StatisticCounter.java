@@ -0,0 +1,37 @@
+package com.example.backend.form.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "statistic_counters")
+public class StatisticCounter {
+    @Id
+    @Column(name = "counter_name", length = 100)
+    private String name; // e.g. forms.total, forms.status.PENDING, audit.action.LOGIN
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public StatisticCounter() {}
+
+    public StatisticCounter(String name, long value, LocalDateTime updatedAt) {
+        this.name = name;
+        this.value = value;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getValue() { return value; }
+    public void setValue(long value) { this.value = value; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -51,4 +51,13 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     // Get audit logs for specific form with pagination
     @Query("SELECT a FROM AuditLog a WHERE a.form.id = :formId ORDER BY a.createdAt DESC")
     Page<AuditLog> findByFormIdOrderByCreatedAtDesc(@Param("formId") Long formId, Pageable pageable);
-} 
\ No newline at end of file
+
+    interface ActionCount {
+        String getAction();
+        long getTotal();
+    }
+
+    // Count audit logs grouped by action
+    @Query("SELECT a.action AS action, COUNT(a) AS total FROM AuditLog a GROUP BY a.action")
+    List<ActionCount> countGroupedByAction();
+}
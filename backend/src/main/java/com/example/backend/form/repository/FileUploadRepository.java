@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface FileUploadRepository extends JpaRepository<FileUpload, Long> {
@@ -48,4 +49,48 @@ public interface FileUploadRepository extends JpaRepository<FileUpload, Long> {
     // Get total file size by user
     @Query("SELECT SUM(f.fileSize) FROM FileUpload f WHERE f.uploadedBy = :user AND f.isActive = true")
     Long getTotalFileSizeByUser(@Param("user") User user);
-} 
\ No newline at end of file
+
+    interface FileTotals {
+        long getFileCount();
+        long getTotalSize();
+    }
+
+    // Count and total size of active files
+    @Query("SELECT COUNT(f) AS fileCount, COALESCE(SUM(f.fileSize), 0) AS totalSize FROM FileUpload f WHERE f.isActive = true")
+    FileTotals sumActiveFiles();
+
+    interface ScopeTotals {
+        String getScopeKey();
+        long getFileCount();
+        long getTotalSize();
+    }
+
+    // Count and size of active files per form
+    @Query("SELECT cast(f.form.id AS String) AS scopeKey, COUNT(f) AS fileCount, SUM(f.fileSize) AS totalSize " +
+           "FROM FileUpload f WHERE f.isActive = true GROUP BY f.form.id")
+    List<ScopeTotals> sumActiveFilesByForm();
+
+    // Count and size of active files per uploader
+    @Query("SELECT cast(f.uploadedBy.id AS String) AS scopeKey, COUNT(f) AS fileCount, SUM(f.fileSize) AS totalSize " +
+           "FROM FileUpload f WHERE f.isActive = true GROUP BY f.uploadedBy.id")
+    List<ScopeTotals> sumActiveFilesByUser();
+
+    // Count and size of active files per MIME type
+    @Query("SELECT f.fileType AS scopeKey, COUNT(f) AS fileCount, SUM(f.fileSize) AS totalSize " +
+           "FROM FileUpload f WHERE f.isActive = true GROUP BY f.fileType")
+    List<ScopeTotals> sumActiveFilesByType();
+
+    interface FileName {
+        Long getId();
+        Long getFormId();
+        String getOriginalFileName();
+    }
+
+    // Names of the active files of several forms
+    @Query("SELECT f.id AS id, f.form.id AS formId, f.originalFileName AS originalFileName " +
+           "FROM FileUpload f WHERE f.isActive = true AND f.form.id IN :formIds")
+    List<FileName> findActiveFileNames(@Param("formIds") Collection<Long> formIds);
+
+    // Active rows sharing a stored blob
+    long countByContentHashAndIsActiveTrue(String contentHash);
+}
@@ -3,8 +3,21 @@ package com.example.backend.form.repository;
 import com.example.backend.form.model.Form;
 import com.example.backend.form.model.FormComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface FormCommentRepository extends JpaRepository<FormComment, Long> {
     List<FormComment> findByFormOrderByCreatedAtAsc(Form form);
+
+    interface CommentText {
+        Long getId();
+        Long getFormId();
+        String getComment();
+    }
+
+    // Comment text of several forms, without loading the authors
+    @Query("SELECT c.id AS id, c.form.id AS formId, c.comment AS comment FROM FormComment c WHERE c.form.id IN :formIds")
+    List<CommentText> findCommentTexts(@Param("formIds") Collection<Long> formIds);
 } 
\ No newline at end of file
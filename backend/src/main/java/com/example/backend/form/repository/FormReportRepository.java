@@ -0,0 +1,124 @@
+package com.example.backend.form.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.example.backend.form.model.Form;
+
+// Aggregate-only queries for reports. Every method returns grouped tuples computed
+// by the database; no Form entities are loaded.
+public interface FormReportRepository extends Repository<Form, Long> {
+
+    interface StatusCount {
+        String getStatus();
+        long getTotal();
+    }
+
+    interface TypeStatusCount {
+        String getType();
+        String getStatus();
+        long getTotal();
+    }
+
+    interface DailyCount {
+        LocalDate getDay();
+        long getTotal();
+    }
+
+    interface MonthlyCount {
+        int getYear();
+        int getMonth();
+        long getTotal();
+        long getApproved();
+    }
+
+    interface ApproverStatusCount {
+        Long getApproverId();
+        String getStatus();
+        long getTotal();
+    }
+
+    interface StudentCount {
+        Long getStudentId();
+        String getEmail();
+        long getTotal();
+    }
+
+    interface ApprovalTimeBucket {
+        String getBucket();
+        long getTotal();
+        long getTotalHours();
+    }
+
+    // Counts by status across all forms
+    @Query("SELECT f.status AS status, COUNT(f) AS total FROM Form f GROUP BY f.status")
+    List<StatusCount> countGroupedByStatus();
+
+    // Counts by type and status across all forms
+    @Query("SELECT f.type AS type, f.status AS status, COUNT(f) AS total FROM Form f GROUP BY f.type, f.status")
+    List<TypeStatusCount> countByTypeAndStatus();
+
+    // Counts by type and status for forms submitted in a date range
+    @Query("SELECT f.type AS type, f.status AS status, COUNT(f) AS total FROM Form f " +
+           "WHERE f.submittedDate BETWEEN :startDate AND :endDate GROUP BY f.type, f.status")
+    List<TypeStatusCount> countByTypeAndStatusSubmittedBetween(@Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate);
+
+    // Submissions per calendar day in a date range
+    @Query("SELECT cast(f.submittedDate AS LocalDate) AS day, COUNT(f) AS total FROM Form f " +
+           "WHERE f.submittedDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY cast(f.submittedDate AS LocalDate)")
+    List<DailyCount> countDailySubmissionsBetween(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+
+    // Submissions and approvals per month since a date
+    @Query("SELECT year(f.submittedDate) AS year, month(f.submittedDate) AS month, COUNT(f) AS total, " +
+           "SUM(CASE WHEN upper(f.status) = 'APPROVED' THEN 1 ELSE 0 END) AS approved FROM Form f " +
+           "WHERE f.submittedDate > :since GROUP BY year(f.submittedDate), month(f.submittedDate)")
+    List<MonthlyCount> countMonthlySubmissionsSince(@Param("since") LocalDateTime since);
+
+    // Decided forms per approver and status
+    @Query("SELECT f.approvedBy.id AS approverId, f.status AS status, COUNT(f) AS total FROM Form f " +
+           "WHERE f.approvedBy IS NOT NULL GROUP BY f.approvedBy.id, f.status")
+    List<ApproverStatusCount> countByApproverAndStatus();
+
+    // Approved forms bucketed by whole hours from submission to approval. Measured in
+    // seconds so partial hours truncate like Duration.toHours on every database
+    @Query("SELECT CASE " +
+           "WHEN (f.approvedDate - f.submittedDate) BY SECOND < 86400 THEN 'Within 24 hours' " +
+           "WHEN (f.approvedDate - f.submittedDate) BY SECOND < 259200 THEN '1-3 days' " +
+           "WHEN (f.approvedDate - f.submittedDate) BY SECOND < 604800 THEN '3-7 days' " +
+           "ELSE 'Over 7 days' END AS bucket, " +
+           "COUNT(f) AS total, SUM(floor((f.approvedDate - f.submittedDate) BY SECOND / 3600)) AS totalHours FROM Form f " +
+           "WHERE upper(f.status) = 'APPROVED' AND f.approvedDate IS NOT NULL GROUP BY 1")
+    List<ApprovalTimeBucket> countApprovalTimeBuckets();
+
+    // Forms per user for every user, including users with none
+    @Query("SELECT u.id AS studentId, u.email AS email, COUNT(f) AS total FROM User u " +
+           "LEFT JOIN Form f ON f.student = u GROUP BY u.id, u.email")
+    List<StudentCount> countFormsPerUser();
+
+    // Forms per student submitted since a date
+    @Query("SELECT s.id AS studentId, s.email AS email, COUNT(f) AS total FROM Form f JOIN f.student s " +
+           "WHERE f.submittedDate > :since GROUP BY s.id, s.email")
+    List<StudentCount> countFormsPerStudentSince(@Param("since") LocalDateTime since);
+
+    // Students with the most forms, largest first; page size is the top-K limit
+    @Query("SELECT s.id AS studentId, s.email AS email, COUNT(f) AS total FROM Form f JOIN f.student s " +
+           "GROUP BY s.id, s.email ORDER BY COUNT(f) DESC, s.id")
+    List<StudentCount> findTopStudentsByFormCount(Pageable pageable);
+
+    // Pending forms submitted before a cutoff
+    @Query("SELECT COUNT(f) FROM Form f WHERE upper(f.status) = 'PENDING' AND f.submittedDate < :cutoff")
+    long countPendingSubmittedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Forms decided by an approver since a date
+    @Query("SELECT COUNT(f) FROM Form f WHERE f.approvedBy.id = :approverId AND f.approvedDate > :since")
+    long countDecidedByApproverSince(@Param("approverId") Long approverId, @Param("since") LocalDateTime since);
+}
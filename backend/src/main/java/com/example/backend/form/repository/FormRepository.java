@@ -1,15 +1,18 @@
 package com.example.backend.form.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.backend.form.model.Form;
 import com.example.backend.form.model.User;
 
-public interface FormRepository extends JpaRepository<Form, Long> {
+public interface FormRepository extends JpaRepository<Form, Long>, FormRepositoryCustom {
     List<Form> findByStudent(User student);
     
     List<Form> findByStatus(String status);
@@ -48,6 +51,70 @@ public interface FormRepository extends JpaRepository<Form, Long> {
     // Find forms by submitted date after
     List<Form> findBySubmittedDateAfter(java.time.LocalDateTime date);
     
+    interface DecisionTarget {
+        Long getId();
+        long getVersion();
+        String getStatus();
+        String getType();
+        Long getStudentId();
+    }
+
+    // Fields a bulk decision needs, for all requested forms in one query
+    @Query("SELECT f.id AS id, f.version AS version, f.status AS status, f.type AS type, f.student.id AS studentId " +
+           "FROM Form f WHERE f.id IN :ids")
+    List<DecisionTarget> findDecisionTargets(@Param("ids") Collection<Long> ids);
+
+    interface IndexSource {
+        Long getId();
+        String getFormData();
+    }
+
+    // Forms with formData but no field-value rows, in id order after 'afterId'
+    @Query("SELECT f.id AS id, f.formData AS formData FROM Form f " +
+           "WHERE f.id > :afterId AND f.formData IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM FormFieldValue v WHERE v.form = f) ORDER BY f.id")
+    List<IndexSource> findUnindexedForms(@Param("afterId") Long afterId, Pageable page);
+
+    interface SearchSource {
+        Long getId();
+        String getType();
+        String getStatus();
+        java.time.LocalDateTime getSubmittedDate();
+        String getFormData();
+        String getStudentName();
+        String getStudentEmail();
+    }
+
+    // Fields the search index needs, a page of forms at a time in id order
+    @Query("SELECT f.id AS id, f.type AS type, f.status AS status, f.submittedDate AS submittedDate, " +
+           "f.formData AS formData, s.username AS studentName, s.email AS studentEmail " +
+           "FROM Form f LEFT JOIN f.student s WHERE f.id > :afterId ORDER BY f.id")
+    List<SearchSource> findSearchSources(@Param("afterId") Long afterId, Pageable page);
+
+    // Queue size of one department. Forms without a department (students with none,
+    // rows the backfill could not fill) are in every department's queue.
+    @Query("SELECT COUNT(f) FROM Form f WHERE f.status = :status AND (f.department = :department OR f.department IS NULL)")
+    long countDepartmentQueue(@Param("status") String status, @Param("department") String department);
+
+    // Forms of one department's queue, oldest first; see countDepartmentQueue
+    @Query("SELECT f FROM Form f WHERE f.status = :status AND (f.department = :department OR f.department IS NULL) " +
+           "ORDER BY f.submittedDate ASC, f.id ASC")
+    List<Form> findDepartmentQueue(@Param("status") String status, @Param("department") String department);
+
+    // Copy the student's department onto forms saved before the column existed; forms
+    // of students without a department are left alone so they are not rewritten each boot
+    @Modifying
+    @Query("UPDATE Form f SET f.department = (SELECT s.department FROM User s WHERE s = f.student) " +
+           "WHERE f.department IS NULL AND EXISTS " +
+           "(SELECT 1 FROM User s WHERE s = f.student AND s.department IS NOT NULL)")
+    int backfillDepartments();
+
+    // Move the step pointer without bumping the form version, so step saves do not
+    // conflict with each other or with an approver's decision
+    @Modifying
+    @Query("UPDATE Form f SET f.currentStep = :step WHERE f.id = :id")
+    int updateCurrentStep(@Param("id") Long id, @Param("step") int step);
+
     // Count forms by submitted date between
     long countBySubmittedDateBetween(java.time.LocalDateTime startDate, java.time.LocalDateTime endDate);
 } 
\ No newline at end of file
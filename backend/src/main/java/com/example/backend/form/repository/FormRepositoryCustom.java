@@ -0,0 +1,41 @@
+package com.example.backend.form.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.backend.form.model.FieldPredicate;
+import com.example.backend.form.model.FormFieldValue;
+import com.example.backend.form.model.FormSummary;
+import com.example.backend.form.model.KeysetCursor;
+
+public interface FormRepositoryCustom {
+
+    // Filtered, seek-paginated form listing ordered by submittedDate DESC, id DESC.
+    // Any filter may be null; status and type match exactly. Forms without a
+    // submittedDate are not listed. Returns at most 'limit' rows strictly after 'after'.
+    List<FormSummary> findSummaries(String status, String type, String studentName, String keyword,
+                                    KeysetCursor after, int limit);
+
+    // As above, additionally requiring every field predicate to match a form_field_values row
+    List<FormSummary> findSummaries(String status, String type, String studentName, String keyword,
+                                    List<FieldPredicate> fields, KeysetCursor after, int limit);
+
+    // Pending forms oldest first (submittedDate ASC, id ASC), seeking past 'after'.
+    // A department also gets the forms without one; a null department means every department.
+    List<FormSummary> findPendingQueue(String department, KeysetCursor after, int limit);
+
+    // Ids of forms matching every field predicate, newest id first
+    List<Long> findIdsByFieldPredicates(List<FieldPredicate> fields, int limit);
+
+    // Replace a form's field-value rows with one delete and one JDBC batch insert
+    void replaceFieldValues(Long formId, List<FormFieldValue> values);
+
+    // Replace only the rows of the named fields, leaving the form's other fields alone
+    void replaceFieldValues(Long formId, Collection<String> fieldNames, List<FormFieldValue> values);
+
+    // Decide forms with one JDBC batch of conditional UPDATEs. A row changes only if it
+    // is still Pending at the version that was read; returns one update count per target.
+    int[] decidePending(List<FormRepository.DecisionTarget> targets, String status, Long approverId,
+                        LocalDateTime decidedAt, String comments);
+}
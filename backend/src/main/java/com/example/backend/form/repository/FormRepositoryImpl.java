@@ -0,0 +1,295 @@
+package com.example.backend.form.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.backend.form.model.FieldPredicate;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormFieldValue;
+import com.example.backend.form.model.FormSummary;
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.User;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+// Criteria-based implementation of FormRepositoryCustom, picked up by Spring Data
+// through the "Impl" suffix convention.
+public class FormRepositoryImpl implements FormRepositoryCustom {
+
+    private static final String DECIDE_SQL =
+        "UPDATE forms SET status = ?, approved_by = ?, approved_date = ?, comments = ?, version = version + 1 " +
+        "WHERE id = ? AND version = ? AND status = 'Pending'";
+
+    private static final String INSERT_FIELD_VALUE_SQL =
+        "INSERT INTO form_field_values (form_id, field_name, text_value, number_value, date_value) VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<FormSummary> findSummaries(String status, String type, String studentName, String keyword,
+                                           KeysetCursor after, int limit) {
+        return findSummaries(status, type, studentName, keyword, List.of(), after, limit);
+    }
+
+    @Override
+    public List<FormSummary> findSummaries(String status, String type, String studentName, String keyword,
+                                           List<FieldPredicate> fields, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FormSummary> query = cb.createQuery(FormSummary.class);
+        Root<Form> form = query.from(Form.class);
+        Join<Form, User> student = form.join("student", JoinType.LEFT);
+
+        // Rows without a submittedDate have no keyset position and are left out
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isNotNull(form.get("submittedDate")));
+
+        // Equality on status/type so the (status, type, submitted_date) index can be used;
+        // callers pass them in the stored casing (see FormService.filterForms)
+        if (status != null) {
+            predicates.add(cb.equal(form.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(form.get("type"), type));
+        }
+        if (studentName != null) {
+            predicates.add(cb.like(cb.lower(student.get("username")), containsPattern(studentName), '\\'));
+        }
+        if (keyword != null) {
+            String pattern = containsPattern(keyword);
+            predicates.add(cb.or(
+                cb.like(cb.lower(form.get("type")), pattern, '\\'),
+                cb.like(cb.lower(form.get("status")), pattern, '\\'),
+                cb.like(cb.lower(student.get("username")), pattern, '\\')
+            ));
+        }
+        for (FieldPredicate field : fields) {
+            predicates.add(fieldExists(cb, query, form, field));
+        }
+
+        // Seek past the last row of the previous page instead of using OFFSET
+        if (after != null) {
+            LocalDateTime afterDate = after.getTimestamp();
+            predicates.add(cb.or(
+                cb.lessThan(form.get("submittedDate"), afterDate),
+                cb.and(
+                    cb.equal(form.get("submittedDate"), afterDate),
+                    cb.lessThan(form.get("id"), after.getId())
+                )
+            ));
+        }
+
+        query.select(summary(cb, form, student))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(form.get("submittedDate")), cb.desc(form.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<FormSummary> findPendingQueue(String department, KeysetCursor after, int limit) {
+        if (department == null) {
+            // Every department: one seek on the (status, submitted_date, id) index
+            return seekPendingQueue(null, false, after, limit);
+        }
+        // The department's forms and the shared ones (no department) are two prefixes of
+        // the (status, department, submitted_date, id) index. An OR over both cannot be
+        // read in submitted_date order without a sort, so seek each one and merge.
+        List<FormSummary> merged = new ArrayList<>(seekPendingQueue(department, false, after, limit));
+        merged.addAll(seekPendingQueue(null, true, after, limit));
+        merged.sort(Comparator.comparing(FormSummary::getSubmittedDate).thenComparing(FormSummary::getId));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    // Pending forms oldest first past the cursor: of one department, of no department
+    // (shared), or of every department when neither is given
+    private List<FormSummary> seekPendingQueue(String department, boolean shared, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FormSummary> query = cb.createQuery(FormSummary.class);
+        Root<Form> form = query.from(Form.class);
+        Join<Form, User> student = form.join("student", JoinType.LEFT);
+
+        // Equality on status and department, then a range on submittedDate, so the
+        // index supplies the order and the limit ends the read
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(form.get("status"), "Pending"));
+        predicates.add(cb.isNotNull(form.get("submittedDate")));
+        if (department != null) {
+            predicates.add(cb.equal(form.get("department"), department));
+        } else if (shared) {
+            predicates.add(cb.isNull(form.get("department")));
+        }
+        if (after != null) {
+            LocalDateTime afterDate = after.getTimestamp();
+            predicates.add(cb.or(
+                cb.greaterThan(form.get("submittedDate"), afterDate),
+                cb.and(
+                    cb.equal(form.get("submittedDate"), afterDate),
+                    cb.greaterThan(form.get("id"), after.getId())
+                )
+            ));
+        }
+
+        query.select(summary(cb, form, student))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.asc(form.get("submittedDate")), cb.asc(form.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private CompoundSelection<FormSummary> summary(CriteriaBuilder cb, Root<Form> form, Join<Form, User> student) {
+        return cb.construct(FormSummary.class,
+                form.get("id"),
+                form.get("type"),
+                form.get("status"),
+                form.get("submittedDate"),
+                form.get("approvedDate"),
+                form.get("currentStep"),
+                form.get("totalSteps"),
+                student.get("id"),
+                student.get("username"),
+                student.get("email"));
+    }
+
+    @Override
+    public List<Long> findIdsByFieldPredicates(List<FieldPredicate> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Form> form = query.from(Form.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (FieldPredicate field : fields) {
+            predicates.add(fieldExists(cb, query, form, field));
+        }
+        query.select(form.get("id"))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(form.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // EXISTS over form_field_values for one predicate, so each condition is a lookup on
+    // a (field_name, value) index. Numeric eq compares number_value so 24 matches 24.0.
+    private Predicate fieldExists(CriteriaBuilder cb, AbstractQuery<?> query, Root<Form> form, FieldPredicate field) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<FormFieldValue> value = subquery.from(FormFieldValue.class);
+
+        Predicate condition;
+        BigDecimal number = FormFieldValue.normalizeNumber(field.getNumber());
+        LocalDate date = field.getDate();
+        switch (field.getOperator()) {
+            case EQ:
+                condition = number != null
+                        ? cb.equal(value.get("numberValue"), number)
+                        : cb.equal(value.get("textValue"), FormFieldValue.normalizeText(field.getValue()));
+                break;
+            case CONTAINS:
+                condition = cb.like(value.get("textValue"), containsPattern(field.getValue().trim()), '\\');
+                break;
+            default:
+                condition = number != null
+                        ? compare(cb, value.<BigDecimal>get("numberValue"), field.getOperator(), number)
+                        : compare(cb, value.<LocalDate>get("dateValue"), field.getOperator(), date);
+                break;
+        }
+
+        subquery.select(cb.literal(1))
+            .where(
+                cb.equal(value.get("form"), form),
+                cb.equal(value.get("fieldName"), field.getField()),
+                condition);
+        return cb.exists(subquery);
+    }
+
+    private <T extends Comparable<? super T>> Predicate compare(CriteriaBuilder cb, Path<T> path,
+                                                                FieldPredicate.Operator operator, T bound) {
+        switch (operator) {
+            case GT: return cb.greaterThan(path, bound);
+            case GTE: return cb.greaterThanOrEqualTo(path, bound);
+            case LT: return cb.lessThan(path, bound);
+            default: return cb.lessThanOrEqualTo(path, bound);
+        }
+    }
+
+    private String containsPattern(String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    @Override
+    public int[] decidePending(List<FormRepository.DecisionTarget> targets, String status, Long approverId,
+                               LocalDateTime decidedAt, String comments) {
+        Timestamp decided = Timestamp.valueOf(decidedAt);
+        List<Object[]> rows = new ArrayList<>(targets.size());
+        for (FormRepository.DecisionTarget target : targets) {
+            rows.add(new Object[] { status, approverId, decided, comments, target.getId(), target.getVersion() });
+        }
+        return jdbcTemplate.batchUpdate(DECIDE_SQL, rows);
+    }
+
+    @Override
+    public void replaceFieldValues(Long formId, List<FormFieldValue> values) {
+        jdbcTemplate.update("DELETE FROM form_field_values WHERE form_id = ?", formId);
+        insertFieldValues(formId, values);
+    }
+
+    @Override
+    public void replaceFieldValues(Long formId, Collection<String> fieldNames, List<FormFieldValue> values) {
+        if (fieldNames.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(fieldNames.size(), "?"));
+        List<Object> args = new ArrayList<>(fieldNames.size() + 1);
+        args.add(formId);
+        args.addAll(fieldNames);
+        jdbcTemplate.update("DELETE FROM form_field_values WHERE form_id = ? AND field_name IN (" + placeholders + ")",
+                args.toArray());
+        insertFieldValues(formId, values);
+    }
+
+    private void insertFieldValues(Long formId, List<FormFieldValue> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(values.size());
+        for (FormFieldValue value : values) {
+            rows.add(new Object[] { formId, value.getFieldName(), value.getTextValue(), value.getNumberValue(),
+                    value.getDateValue() != null ? Date.valueOf(value.getDateValue()) : null });
+        }
+        jdbcTemplate.batchUpdate(INSERT_FIELD_VALUE_SQL, rows);
+    }
+}
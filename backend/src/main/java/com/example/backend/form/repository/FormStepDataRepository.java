@@ -0,0 +1,20 @@
+package com.example.backend.form.repository;
+
+import com.example.backend.form.model.FormStepData;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface FormStepDataRepository extends JpaRepository<FormStepData, Long> {
+
+    // The saved fields of one step
+    Optional<FormStepData> findByFormIdAndStepNumber(Long formId, int stepNumber);
+
+    // Every saved step of a form, in step order
+    List<FormStepData> findByFormIdOrderByStepNumberAsc(Long formId);
+
+    // Saved steps of several forms, in step order
+    List<FormStepData> findByFormIdInOrderByStepNumberAsc(Collection<Long> formIds);
+}
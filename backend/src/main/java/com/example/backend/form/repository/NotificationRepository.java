@@ -1,7 +1,10 @@
 package com.example.backend.form.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,7 +13,7 @@ import org.springframework.data.repository.query.Param;
 import com.example.backend.form.model.Notification;
 import com.example.backend.form.model.User;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
     
     // Find all notifications for a user, ordered by creation date (newest first)
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
@@ -21,19 +24,152 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Count unread notifications for a user
     long countByUserAndStatus(User user, Notification.NotificationStatus status);
     
+    interface StatusCount {
+        Notification.NotificationStatus getStatus();
+        long getCount();
+    }
+    
+    // Notification count per status for a user, in one grouped query
+    @Query("SELECT n.status AS status, COUNT(n) AS count FROM Notification n WHERE n.user.id = :userId GROUP BY n.status")
+    List<StatusCount> countByStatusForUser(@Param("userId") Long userId);
+    
     // Find notifications by type for a user
     List<Notification> findByUserAndTypeOrderByCreatedAtDesc(User user, String type);
     
     // Mark all notifications as read for a user
     @Modifying
     @Query("UPDATE Notification n SET n.status = 'READ', n.readAt = CURRENT_TIMESTAMP WHERE n.user = :user AND n.status = 'UNREAD'")
-    void markAllAsRead(@Param("user") User user);
+    int markAllAsRead(@Param("user") User user);
+    
+    // Move one notification to READ only if it is still in 'from'; the affected row
+    // count tells whether this call made the change
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = 'READ', n.readAt = :readAt WHERE n.id = :id AND n.status = :from")
+    int markAsReadIf(@Param("id") Long id,
+                     @Param("from") Notification.NotificationStatus from,
+                     @Param("readAt") LocalDateTime readAt);
+    
+    // As above, for any other status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = :to WHERE n.id = :id AND n.status = :from")
+    int changeStatusIf(@Param("id") Long id,
+                       @Param("from") Notification.NotificationStatus from,
+                       @Param("to") Notification.NotificationStatus to);
+    
+    // Delete one notification only if it is still in 'status'
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.status = :status")
+    int deleteIf(@Param("id") Long id, @Param("status") Notification.NotificationStatus status);
+    
+    // Rows written before every notification carried lastActivityAt
+    @Modifying
+    @Query("UPDATE Notification n SET n.lastActivityAt = n.createdAt WHERE n.lastActivityAt IS NULL")
+    int backfillLastActivity();
+
+    // Create one unread notification for every user with a role, as a single INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO Notification (user, title, message, type, status, createdAt, lastActivityAt, relatedFormId) " +
+           "SELECT u, :title, :message, :type, com.example.backend.form.model.Notification.NotificationStatus.UNREAD, " +
+           ":createdAt, :createdAt, :relatedFormId FROM User u WHERE u.role = :role")
+    int insertForRole(@Param("role") User.Role role,
+                      @Param("title") String title,
+                      @Param("message") String message,
+                      @Param("type") String type,
+                      @Param("relatedFormId") String relatedFormId,
+                      @Param("createdAt") java.time.LocalDateTime createdAt);
+    
+    interface DigestRow {
+        Long getId();
+        Long getUserId();
+        String getType();
+        Notification.NotificationStatus getStatus();
+    }
+    
+    // Open digest rows of some users and types for one window. An archived digest is
+    // left alone; the next notification opens a new one.
+    @Query("SELECT n.id AS id, n.user.id AS userId, n.type AS type, n.status AS status FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.type IN :types AND n.digestWindow = :window " +
+           "AND n.status <> com.example.backend.form.model.Notification.NotificationStatus.ARCHIVED")
+    List<DigestRow> findDigests(@Param("userIds") Collection<Long> userIds,
+                                @Param("types") Collection<String> types,
+                                @Param("window") LocalDateTime window);
+    
+    // Fold one more notification into the window's digest of every user with a role.
+    // The id list stops growing near the column limit; the count keeps going.
+    @Modifying
+    @Query("UPDATE Notification n SET n.digestCount = COALESCE(n.digestCount, 1) + 1, " +
+           "n.relatedFormIds = CASE WHEN :formId IS NULL THEN n.relatedFormIds " +
+           "WHEN n.relatedFormIds IS NULL THEN :formId " +
+           "WHEN LENGTH(n.relatedFormIds) > " + (Notification.MAX_RELATED_FORM_IDS_LENGTH - 100) + " THEN n.relatedFormIds " +
+           "ELSE CONCAT(n.relatedFormIds, ',', :formId) END, " +
+           "n.title = :title, n.message = :message, n.relatedFormId = :formId, " +
+           "n.status = com.example.backend.form.model.Notification.NotificationStatus.UNREAD, n.readAt = NULL, " +
+           "n.lastActivityAt = :createdAt " +
+           "WHERE n.type = :type AND n.digestWindow = :window " +
+           "AND n.status <> com.example.backend.form.model.Notification.NotificationStatus.ARCHIVED " +
+           "AND n.user.id IN (SELECT u.id FROM User u WHERE u.role = :role)")
+    int addToRoleDigests(@Param("role") User.Role role,
+                         @Param("title") String title,
+                         @Param("message") String message,
+                         @Param("type") String type,
+                         @Param("formId") String formId,
+                         @Param("createdAt") LocalDateTime createdAt,
+                         @Param("window") LocalDateTime window);
     
-    // Delete old notifications (older than specified days)
+    // Open the window's digest for every user with a role who has no open one yet
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoffDate")
-    void deleteOldNotifications(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
+    @Query("INSERT INTO Notification (user, title, message, type, status, createdAt, relatedFormId, " +
+           "digestWindow, lastActivityAt, digestCount, relatedFormIds) " +
+           "SELECT u, :title, :message, :type, com.example.backend.form.model.Notification.NotificationStatus.UNREAD, " +
+           ":createdAt, :formId, :window, :createdAt, 1, :formId FROM User u WHERE u.role = :role AND NOT EXISTS (" +
+           "SELECT n.id FROM Notification n WHERE n.user = u AND n.type = :type AND n.digestWindow = :window " +
+           "AND n.status <> com.example.backend.form.model.Notification.NotificationStatus.ARCHIVED)")
+    int insertRoleDigests(@Param("role") User.Role role,
+                          @Param("title") String title,
+                          @Param("message") String message,
+                          @Param("type") String type,
+                          @Param("formId") String formId,
+                          @Param("createdAt") LocalDateTime createdAt,
+                          @Param("window") LocalDateTime window);
     
     // Find notifications related to a specific form
     List<Notification> findByUserAndRelatedFormIdOrderByCreatedAtDesc(User user, String relatedFormId);
-} 
\ No newline at end of file
+
+    interface NotificationView {
+        Long getId();
+        Long getUserId();
+        String getTitle();
+        String getMessage();
+        String getType();
+        Notification.NotificationStatus getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getLastActivityAt();
+        String getRelatedFormId();
+        String getActionUrl();
+        Integer getDigestCount();
+        String getRelatedFormIds();
+    }
+
+    // A user's notifications created or folded into after a (lastActivityAt, id)
+    // position, in that order, without loading the User
+    @Query("SELECT n.id AS id, n.user.id AS userId, n.title AS title, n.message AS message, n.type AS type, " +
+           "n.status AS status, n.createdAt AS createdAt, n.lastActivityAt AS lastActivityAt, " +
+           "n.relatedFormId AS relatedFormId, n.actionUrl AS actionUrl, " +
+           "n.digestCount AS digestCount, n.relatedFormIds AS relatedFormIds " +
+           "FROM Notification n WHERE n.user.id = :userId AND (n.lastActivityAt > :afterTime " +
+           "OR (n.lastActivityAt = :afterTime AND n.id > :afterId)) ORDER BY n.lastActivityAt, n.id")
+    List<NotificationView> findViewsActiveAfter(@Param("userId") Long userId,
+                                                @Param("afterTime") LocalDateTime afterTime,
+                                                @Param("afterId") Long afterId,
+                                                Pageable page);
+
+    // Notifications of several users created, or digests folded into, since a time
+    @Query("SELECT n.id AS id, n.user.id AS userId, n.title AS title, n.message AS message, n.type AS type, " +
+           "n.status AS status, n.createdAt AS createdAt, n.lastActivityAt AS lastActivityAt, " +
+           "n.relatedFormId AS relatedFormId, n.actionUrl AS actionUrl, " +
+           "n.digestCount AS digestCount, n.relatedFormIds AS relatedFormIds " +
+           "FROM Notification n WHERE n.user.id IN :userIds AND n.lastActivityAt >= :since " +
+           "ORDER BY n.lastActivityAt, n.id")
+    List<NotificationView> findViewsCreatedSince(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("since") LocalDateTime since);
+}
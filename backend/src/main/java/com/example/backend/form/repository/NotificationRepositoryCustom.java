@@ -0,0 +1,21 @@
+package com.example.backend.form.repository;
+
+import java.util.List;
+
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.NotificationSummary;
+
+public interface NotificationRepositoryCustom {
+
+    // A user's notifications ordered by createdAt DESC, id DESC, seeking past 'after'.
+    // Status and type may be null. Returns at most 'limit' rows.
+    List<NotificationSummary> findSummaries(Long userId, Notification.NotificationStatus status, String type,
+                                            KeysetCursor after, int limit);
+
+    // Fold 'count' notifications, the latest of which is 'latest', into an existing
+    // digest row with one atomic update, appending 'newFormIds' (comma-separated, may be
+    // null) to its id list, and reopen it as unread. createdAt is left alone, so the
+    // row keeps its place in keyset pages; lastActivityAt moves. Returns the refreshed row.
+    Notification addToDigest(Long digestId, int count, String newFormIds, Notification latest);
+}
@@ -0,0 +1,113 @@
+package com.example.backend.form.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.NotificationSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Criteria-based implementation of NotificationRepositoryCustom, picked up by Spring
+// Data through the "Impl" suffix convention.
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<NotificationSummary> findSummaries(Long userId, Notification.NotificationStatus status, String type,
+                                                   KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NotificationSummary> query = cb.createQuery(NotificationSummary.class);
+        Root<Notification> notification = query.from(Notification.class);
+
+        // Equality on user (and status), then a range on createdAt, so the page is read
+        // in order from idx_notifications_user_status_created or idx_notifications_user_created.
+        // user.id is the foreign key column itself, so no join to users is made.
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(notification.get("user").get("id"), userId));
+        if (status != null) {
+            predicates.add(cb.equal(notification.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(notification.get("type"), type));
+        }
+        if (after != null) {
+            LocalDateTime afterDate = after.getTimestamp();
+            predicates.add(cb.or(
+                cb.lessThan(notification.get("createdAt"), afterDate),
+                cb.and(
+                    cb.equal(notification.get("createdAt"), afterDate),
+                    cb.lessThan(notification.get("id"), after.getId())
+                )
+            ));
+        }
+
+        query.select(cb.construct(NotificationSummary.class,
+                notification.get("id"),
+                notification.get("user").get("id"),
+                notification.get("title"),
+                notification.get("message"),
+                notification.get("type"),
+                notification.get("status"),
+                notification.get("createdAt"),
+                notification.get("readAt"),
+                notification.get("lastActivityAt"),
+                notification.get("relatedFormId"),
+                notification.get("actionUrl"),
+                notification.get("digestCount"),
+                notification.get("relatedFormIds")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(notification.get("createdAt")), cb.desc(notification.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Notification addToDigest(Long digestId, int count, String newFormIds, Notification latest) {
+        // The id list is appended in the same statement as the count, so concurrent
+        // folds cannot lose each other's ids; it stops growing at the column length
+        boolean appendIds = newFormIds != null && !newFormIds.isEmpty();
+        String idsUpdate = appendIds
+                ? "n.relatedFormIds = CASE WHEN n.relatedFormIds IS NULL THEN :newFormIds " +
+                  "WHEN LENGTH(n.relatedFormIds) <= :room THEN CONCAT(n.relatedFormIds, ',', :newFormIds) " +
+                  "ELSE n.relatedFormIds END, "
+                : "";
+        Query update = entityManager.createQuery(
+                "UPDATE Notification n SET n.digestCount = COALESCE(n.digestCount, 1) + :count, " + idsUpdate +
+                "n.title = :title, n.message = :message, " +
+                "n.relatedFormId = :relatedFormId, n.actionUrl = :actionUrl, n.status = :status, n.readAt = NULL, " +
+                "n.lastActivityAt = :lastActivityAt WHERE n.id = :id");
+        if (appendIds) {
+            update.setParameter("newFormIds", newFormIds)
+                .setParameter("room", Notification.MAX_RELATED_FORM_IDS_LENGTH - newFormIds.length() - 1);
+        }
+        update.setParameter("count", count)
+            .setParameter("title", latest.getTitle())
+            .setParameter("message", latest.getMessage())
+            .setParameter("relatedFormId", latest.getRelatedFormId())
+            .setParameter("actionUrl", latest.getActionUrl())
+            .setParameter("status", Notification.NotificationStatus.UNREAD)
+            .setParameter("lastActivityAt", latest.getCreatedAt())
+            .setParameter("id", digestId)
+            .executeUpdate();
+
+        // The bulk update bypasses the persistence context; reload a managed copy
+        Notification digest = entityManager.find(Notification.class, digestId);
+        if (digest != null) {
+            entityManager.refresh(digest);
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.form.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.form.model.StatisticCounter;
+
+@Repository
+public interface StatisticCounterRepository extends JpaRepository<StatisticCounter, String> {
+}
@@ -62,4 +62,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Find users by role string
     List<User> findByRole(String role);
+
+    interface RoleCount {
+        User.Role getRole();
+        long getTotal();
+    }
+
+    // Count users grouped by role
+    @Query("SELECT u.role AS role, COUNT(u) AS total FROM User u GROUP BY u.role")
+    List<RoleCount> countGroupedByRole();
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.backend.form.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers a side effect until the surrounding transaction commits, so a rollback
+// never leaves it applied. Runs immediately when no transaction is active.
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
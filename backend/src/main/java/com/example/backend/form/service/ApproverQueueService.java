@@ -0,0 +1,80 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.CursorPage;
+import com.example.backend.form.model.FormSummary;
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Approver work queue: pending forms of the approver's department, oldest
+// submission first so the forms closest to breaching their SLA come up first.
+// Forms carry their student's department. Forms without a department are shared
+// by every department's queue, so a department page is two seeks on the
+// (status, department, submitted_date, id) index, one for the department and one
+// for the shared forms, each limited to the page and merged. Admins and approvers
+// without a department see every department's queue, one seek on the
+// (status, submitted_date, id) index. Either way an inbox page costs the page size
+// rather than a scan of the queue.
+@Service
+@Transactional(readOnly = true)
+public class ApproverQueueService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // One page of the approver's queue; pass nextCursor back for the next page
+    public CursorPage<FormSummary> getQueue(String approverEmail, String cursor, int size) {
+        User approver = userRepository.findByEmail(approverEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return getQueue(approver, cursor, size);
+    }
+
+    public CursorPage<FormSummary> getQueue(User approver, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<FormSummary> rows = formRepository.findPendingQueue(queueDepartment(approver), after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, last -> new KeysetCursor(last.getSubmittedDate(), last.getId()));
+    }
+
+    // Number of forms in the approver's queue
+    public long countQueue(User approver) {
+        String department = queueDepartment(approver);
+        return department != null
+                ? formRepository.countDepartmentQueue("Pending", department)
+                : formRepository.countByStatus("Pending");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillDepartments() {
+        int updated = formRepository.backfillDepartments();
+        if (updated > 0) {
+            System.out.println("Copied student department onto " + updated + " forms");
+        }
+    }
+
+    private String queueDepartment(User approver) {
+        if (approver.getRole() != User.Role.Approver && approver.getRole() != User.Role.Admin) {
+            throw new RuntimeException("User is not authorized to approve forms");
+        }
+        if (approver.getRole() == User.Role.Admin || approver.getDepartment() == null
+                || approver.getDepartment().isBlank()) {
+            return null;
+        }
+        return approver.getDepartment();
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.backend.form.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Writes audit logs off the request path. Events go into a bounded queue and a
+// single worker thread drains them into audit_logs with JDBC batch inserts.
+//
+// When the queue stays full past the offer timeout, or a batch insert fails, or the
+// application stops with events still queued, the events are appended to a local
+// JSON-lines spill file instead of being dropped; each append is synced to disk.
+// The worker replays the spill file into the database on startup and then, while
+// the queue is at most half full, every spill-retry interval.
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (user_id, action, entity_type, entity_id, details, ip_address, user_agent, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${app.audit.spill-file:audit-spill.jsonl}")
+    private String spillFile;
+
+    @Value("${app.audit.spill-retry-ms:30000}")
+    private long spillRetryMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private BlockingQueue<AuditEvent> queue;
+    private volatile boolean running;
+    private Thread worker;
+    private long lastReplayAt;
+
+    // Guards appends to the spill file and moving it aside for a replay
+    private final Object spillLock = new Object();
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Queue an event; blocks for at most the offer timeout, then spills to disk
+    public void write(AuditEvent event) {
+        try {
+            if (!queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                spill(List.of(event));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spill(List.of(event));
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        replaySpillFile();
+        lastReplayAt = System.currentTimeMillis();
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever the worker did not get to survives in the spill file
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        spill(remaining);
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                replaySpillFileIfDue();
+                AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Spilled events go back to the database once the worker has kept up with the
+    // queue for a while; a replay that fails again is spilled again
+    private void replaySpillFileIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastReplayAt < spillRetryMs || queue.size() > queueCapacity / 2) {
+            return;
+        }
+        lastReplayAt = now;
+        replaySpillFile();
+    }
+
+    // Insert a batch, spilling it to disk if the database rejects it
+    private void flushBatch(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            System.err.println("Audit batch insert failed, spilling " + batch.size() + " events: " + e.getMessage());
+            spill(batch);
+        }
+    }
+
+    private void insert(List<AuditEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            rows.add(new Object[] {
+                event.userId(), event.action(), event.entityType(), event.entityId(), event.details(),
+                event.ipAddress(), event.userAgent(), Timestamp.valueOf(event.createdAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private void spill(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        synchronized (spillLock) {
+            try (FileOutputStream out = new FileOutputStream(spillFile, true)) {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (AuditEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                writer.flush();
+                out.getFD().sync();
+            } catch (IOException e) {
+                System.err.println("Failed to spill " + events.size() + " audit events: " + e.getMessage());
+            }
+        }
+    }
+
+    // Move the spill file aside and insert its events; failures are spilled again.
+    // A .replaying file left by an interrupted replay is picked up first. Only the
+    // move holds the spill lock, so writers can keep spilling during the inserts.
+    private void replaySpillFile() {
+        Path path = Paths.get(spillFile);
+        Path replaying = path.resolveSibling(path.getFileName() + ".replaying");
+        try {
+            if (Files.exists(replaying)) {
+                replay(replaying);
+            }
+            synchronized (spillLock) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                Files.move(path, replaying);
+            }
+            replay(replaying);
+        } catch (IOException e) {
+            System.err.println("Failed to replay audit spill file: " + e.getMessage());
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(objectMapper.readValue(line, AuditEvent.class));
+            if (batch.size() == batchSize) {
+                flushBatch(batch);
+                batch.clear();
+            }
+        }
+        flushBatch(batch);
+        Files.delete(file);
+    }
+
+    // One audit_logs row
+    public record AuditEvent(Long userId, String action, String entityType, Long entityId, String details,
+                             String ipAddress, String userAgent, LocalDateTime createdAt) {}
+}
@@ -22,6 +22,12 @@ public class AuditService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Log form submission
@@ -42,6 +48,14 @@ public class AuditService {
         createAuditLog(approver, "REJECT", "FORM", form.getId(), details, ipAddress, userAgent);
     }
 
+    // Log an approval or rejection made through a bulk action, without loading the form
+    public void logBulkFormDecision(User approver, boolean approved, Long formId, String formType, String comments,
+                                    String ipAddress, String userAgent) {
+        String details = String.format("Form %s: %s (ID: %d). Comments: %s",
+            approved ? "approved" : "rejected", formType, formId, comments);
+        createAuditLog(approver, approved ? "APPROVE" : "REJECT", "FORM", formId, details, ipAddress, userAgent);
+    }
+
     // Log user login
     public void logUserLogin(User user, String ipAddress, String userAgent) {
         String details = "User logged in successfully";
@@ -84,12 +98,14 @@ public class AuditService {
         createAuditLog(user, "FILE_DELETE", "FORM", formId, details, ipAddress, userAgent);
     }
 
-    // Generic audit log creation
+    // Generic audit log creation; queued for the background writer once the caller commits
     private void createAuditLog(User user, String action, String entityType, Long entityId, String details, String ipAddress, String userAgent) {
-        AuditLog auditLog = new AuditLog(user, action, entityType, entityId, details);
-        auditLog.setIpAddress(ipAddress);
-        auditLog.setUserAgent(userAgent);
-        auditLogRepository.save(auditLog);
+        AuditLogWriter.AuditEvent event = new AuditLogWriter.AuditEvent(
+            user != null ? user.getId() : null, action, entityType, entityId, details,
+            ipAddress, userAgent, LocalDateTime.now()
+        );
+        AfterCommit.run(() -> auditLogWriter.write(event));
+        statisticsService.auditLogged(action);
     }
 
     // Get audit logs for a specific form
@@ -120,14 +136,14 @@ public class AuditService {
     // Get audit statistics
     public Map<String, Object> getAuditStatistics() {
         Map<String, Object> stats = Map.of(
-            "totalLogs", auditLogRepository.count(),
-            "formSubmissions", auditLogRepository.countByAction("SUBMIT"),
-            "formApprovals", auditLogRepository.countByAction("APPROVE"),
-            "formRejections", auditLogRepository.countByAction("REJECT"),
-            "userLogins", auditLogRepository.countByAction("LOGIN"),
-            "roleChanges", auditLogRepository.countByAction("ROLE_CHANGE"),
-            "templateCreations", auditLogRepository.countByAction("CREATE"),
-            "fileUploads", auditLogRepository.countByAction("FILE_UPLOAD")
+            "totalLogs", statisticsService.getAuditTotal(),
+            "formSubmissions", statisticsService.getAuditCount("SUBMIT"),
+            "formApprovals", statisticsService.getAuditCount("APPROVE"),
+            "formRejections", statisticsService.getAuditCount("REJECT"),
+            "userLogins", statisticsService.getAuditCount("LOGIN"),
+            "roleChanges", statisticsService.getAuditCount("ROLE_CHANGE"),
+            "templateCreations", statisticsService.getAuditCount("CREATE"),
+            "fileUploads", statisticsService.getAuditCount("FILE_UPLOAD")
         );
         return stats;
     }
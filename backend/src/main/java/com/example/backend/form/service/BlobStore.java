@@ -0,0 +1,186 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.repository.FileUploadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Content-addressed storage for uploaded files. Each distinct content is stored once
+// under blobs/ab/cd/<sha256>; FileUpload rows reference it through contentHash.
+//
+// A blob is deleted when no active FileUpload row references it. Uploads that have
+// claimed a blob but not yet committed their row are tracked in memory, so garbage
+// collection cannot remove a blob between "already stored" and the row insert.
+// Work on a single digest is serialized with a striped lock.
+@Component
+public class BlobStore {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Value("${app.file.upload.path:uploads}")
+    private String uploadPath;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final ConcurrentHashMap<String, AtomicInteger> pendingReferences = new ConcurrentHashMap<>();
+
+    public BlobStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // Stream into a temp file through a FileChannel, hashing as we go. Memory use is
+    // one buffer per upload; the write is abandoned as soon as maxSize is passed.
+    public StagedBlob stage(InputStream in, long maxSize) throws IOException {
+        Path tmpDir = blobRoot().resolve("tmp");
+        Files.createDirectories(tmpDir);
+        Path partial = tmpDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        long size = 0;
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new IOException("File size exceeds maximum allowed size of " + (maxSize / 1024 / 1024) + "MB");
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+            if (size == 0) {
+                throw new IOException("File is empty");
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        return new StagedBlob(partial, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // Move a staged upload to its content address, or drop it if that content is
+    // already stored. The caller's transaction holds a pending reference until it
+    // completes; a rollback releases the blob if nothing else uses it.
+    public Path store(StagedBlob staged) throws IOException {
+        Path blob = pathFor(staged.getSha256());
+        synchronized (lockFor(staged.getSha256())) {
+            if (Files.exists(blob)) {
+                Files.deleteIfExists(staged.getTempPath());
+            } else {
+                Files.createDirectories(blob.getParent());
+                try {
+                    Files.move(staged.getTempPath(), blob, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    Files.deleteIfExists(staged.getTempPath());
+                }
+            }
+            holdPendingReference(staged.getSha256());
+        }
+        return blob;
+    }
+
+    // Delete the blob if no active row and no in-flight upload references it
+    public void releaseIfUnreferenced(String sha256) {
+        synchronized (lockFor(sha256)) {
+            AtomicInteger pending = pendingReferences.get(sha256);
+            if (pending != null && pending.get() > 0) {
+                return;
+            }
+            if (fileUploadRepository.countByContentHashAndIsActiveTrue(sha256) > 0) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(pathFor(sha256));
+            } catch (IOException e) {
+                System.err.println("Failed to delete blob " + sha256 + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public Path pathFor(String sha256) {
+        return blobRoot().resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private void holdPendingReference(String sha256) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pendingReferences.computeIfAbsent(sha256, key -> new AtomicInteger()).incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (lockFor(sha256)) {
+                    AtomicInteger pending = pendingReferences.get(sha256);
+                    if (pending != null && pending.decrementAndGet() <= 0) {
+                        pendingReferences.remove(sha256);
+                    }
+                }
+                if (status != STATUS_COMMITTED) {
+                    releaseIfUnreferenced(sha256);
+                }
+            }
+        });
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    private Path blobRoot() {
+        return Paths.get(uploadPath).resolve("blobs");
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Upload written to a temp file, with its size and digest
+    public static class StagedBlob {
+        private final Path tempPath;
+        private final long size;
+        private final String sha256;
+
+        public StagedBlob(Path tempPath, long size, String sha256) {
+            this.tempPath = tempPath;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public Path getTempPath() { return tempPath; }
+        public long getSize() { return size; }
+        public String getSha256() { return sha256; }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FileUpload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Serves stored files with validators and byte ranges. The ETag is the content hash,
+// so an approver reopening an unchanged PDF gets a 304 instead of the body.
+//
+// Bodies are sent without copying through the heap: on Tomcat a whole file or a
+// single range is handed to the connector's sendfile support, otherwise the file
+// channel is transferred straight into the response stream. Multiple ranges are
+// returned as multipart/byteranges.
+@Service
+public class FileDownloadService {
+
+    // Tomcat request attributes for sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // More ranges than this are answered with the whole file
+    private static final int MAX_RANGES = 16;
+
+    // Write a stored file to the response, answering conditional and Range requests
+    public void serve(FileUpload file, boolean attachment, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Path path = Paths.get(file.getFilePath());
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(path);
+        // HTTP dates have second precision
+        long lastModified = Files.getLastModifiedTime(path).toMillis() / 1000 * 1000;
+        String etag = file.getContentHash() != null
+            ? "\"" + file.getContentHash() + "\""
+            : "W/\"" + length + "-" + lastModified + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Files sit behind authentication, so only the browser may cache, and must revalidate
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (attachment) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + file.getOriginalFileName() + "\"");
+        }
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+        List<ByteRange> ranges = parseRanges(request, etag, lastModified, length);
+
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(file.getFileType());
+            sendRegion(path, 0, length, head, request, response);
+        } else if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(file.getFileType());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            sendRegion(path, range.start, range.length(), head, request, response);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            sendMultipart(path, file.getFileType(), ranges, length, head, response);
+        }
+    }
+
+    // If-None-Match takes precedence over If-Modified-Since
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || weakTag(tag).equals(weakTag(etag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    // Requested ranges in request order. Empty means send the whole file (no Range
+    // header, a stale If-Range, a malformed header or too many ranges); null means
+    // none of the ranges overlap the file.
+    private List<ByteRange> parseRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !header.startsWith("bytes=")) {
+            return List.of();
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean current = ifRange.startsWith("\"") || ifRange.startsWith("W/")
+                ? !etag.startsWith("W/") && ifRange.trim().equals(etag)
+                : dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+            if (!current) {
+                return List.of();
+            }
+        }
+
+        String[] specs = header.substring("bytes=".length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return List.of();
+        }
+
+        List<ByteRange> ranges = new ArrayList<>();
+        for (String spec : specs) {
+            String value = spec.trim();
+            int dash = value.indexOf('-');
+            if (dash < 0) {
+                return List.of();
+            }
+            try {
+                String first = value.substring(0, dash).trim();
+                String last = value.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    // Suffix range: the final N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix > 0 && length > 0) {
+                        ranges.add(new ByteRange(Math.max(0, length - suffix), length - 1));
+                    }
+                } else {
+                    long start = Long.parseLong(first);
+                    long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                    if (end < start) {
+                        return List.of();
+                    }
+                    if (start < length) {
+                        ranges.add(new ByteRange(start, Math.min(end, length - 1)));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return List.of();
+            }
+        }
+        return ranges.isEmpty() ? null : ranges;
+    }
+
+    // Hand the region to Tomcat's sendfile when available, else transfer the channel
+    private void sendRegion(Path path, long start, long count, boolean head,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(count);
+        if (head || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private void sendMultipart(Path path, String contentType, List<ByteRange> ranges, long length,
+                               boolean head, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long contentLength = closing.length;
+        for (ByteRange range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n" +
+                HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n" +
+                HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(length) + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range.length();
+        }
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                transfer(channel, ranges.get(i).start, ranges.get(i).length(), target);
+            }
+        }
+        out.write(closing);
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                throw new IOException("File truncated while sending");
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String weakTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    // Inclusive byte range within the file
+    private static class ByteRange {
+        private final long start;
+        private final long end;
+
+        private ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private long length() {
+            return end - start + 1;
+        }
+
+        private String contentRange(long total) {
+            return "bytes " + start + "-" + end + "/" + total;
+        }
+    }
+}
@@ -11,14 +11,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -30,8 +30,17 @@ public class FileUploadService {
     @Autowired
     private AuditService auditService;
 
-    @Value("${app.file.upload.path:uploads}")
-    private String uploadPath;
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private StorageRollupService storageRollupService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private FormSearchIndex formSearchIndex;
 
     @Value("${app.file.max.size:10485760}") // 10MB default
     private long maxFileSize;
@@ -44,37 +53,38 @@ public class FileUploadService {
         // Validate file
         validateFile(file);
 
-        // Create upload directory if it doesn't exist
-        Path uploadDir = Paths.get(uploadPath);
-        if (!Files.exists(uploadDir)) {
-            Files.createDirectories(uploadDir);
+        try (InputStream in = file.getInputStream()) {
+            return uploadStream(in, file.getOriginalFilename(), file.getContentType(), form, user, description, ipAddress, userAgent);
         }
+    }
 
-        // Generate unique filename
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = getFileExtension(originalFileName);
-        String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-        
-        // Create form-specific directory
-        Path formDir = uploadDir.resolve("form_" + form.getId());
-        if (!Files.exists(formDir)) {
-            Files.createDirectories(formDir);
+    // Upload file from a raw stream; size is enforced while reading, not trusted up front
+    public FileUpload uploadStream(InputStream in, String originalFileName, String contentType, Form form, User user,
+                                   String description, String ipAddress, String userAgent) throws IOException {
+        if (contentType == null || !isAllowedFileType(contentType)) {
+            throw new IOException("File type not allowed. Allowed types: " + allowedFileTypes);
         }
 
-        // Save file
-        Path filePath = formDir.resolve(uniqueFileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // Stage while hashing, then store under the content address; identical
+        // content uploaded again reuses the existing blob
+        BlobStore.StagedBlob staged = blobStore.stage(in, maxFileSize);
+        Path blobPath = blobStore.store(staged);
+        String storedFileName = staged.getSha256() + getFileExtension(originalFileName);
 
         // Create file upload record
         FileUpload fileUpload = new FileUpload(
-            form, user, uniqueFileName, originalFileName, 
-            file.getContentType(), file.getSize(), filePath.toString(), description
+            form, user, storedFileName, originalFileName, 
+            contentType, staged.getSize(), blobPath.toString(), description
         );
+        fileUpload.setContentHash(staged.getSha256());
 
         FileUpload savedFile = fileUploadRepository.save(fileUpload);
+        statisticsService.fileAdded(savedFile.getFileSize());
+        storageRollupService.fileAdded(savedFile);
+        formSearchIndex.fileAdded(savedFile);
 
         // Log the file upload
-        auditService.logFileUpload(user, originalFileName, file.getContentType(), form.getId(), ipAddress, userAgent);
+        auditService.logFileUpload(user, originalFileName, contentType, form.getId(), ipAddress, userAgent);
 
         return savedFile;
     }
@@ -90,8 +100,9 @@ public class FileUploadService {
     }
 
     // Get file by ID
+    // File to serve; null once deleted, even while its blob is still shared by other uploads
     public FileUpload getFileById(Long fileId) {
-        return fileUploadRepository.findById(fileId).orElse(null);
+        return fileUploadRepository.findById(fileId).filter(FileUpload::isActive).orElse(null);
     }
 
     // Delete file
@@ -109,15 +120,29 @@ public class FileUploadService {
         }
 
         try {
-            // Delete physical file
-            Path filePath = Paths.get(fileUpload.getFilePath());
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
+            String contentHash = fileUpload.getContentHash();
+            if (contentHash == null) {
+                // Uploads from before content addressing own their file outright
+                Path filePath = Paths.get(fileUpload.getFilePath());
+                if (Files.exists(filePath)) {
+                    Files.delete(filePath);
+                }
             }
 
             // Mark as inactive in database
+            boolean wasActive = fileUpload.isActive();
             fileUpload.setActive(false);
             fileUploadRepository.save(fileUpload);
+            if (wasActive) {
+                statisticsService.fileRemoved(fileUpload.getFileSize());
+                storageRollupService.fileRemoved(fileUpload);
+                formSearchIndex.fileRemoved(fileUpload);
+            }
+
+            // A shared blob is deleted only once its last active row is gone
+            if (contentHash != null) {
+                AfterCommit.run(() -> blobStore.releaseIfUnreferenced(contentHash));
+            }
 
             // Log the deletion
             auditService.logFileDeletion(user, fileUpload.getOriginalFileName(), fileUpload.getForm().getId(), ipAddress, userAgent);
@@ -128,24 +153,24 @@ public class FileUploadService {
         }
     }
 
-    // Get file statistics
+    // Get file statistics for active files
     public FileStatistics getFileStatistics() {
-        long totalFiles = fileUploadRepository.count();
-        long totalSize = fileUploadRepository.findAll().stream()
-            .mapToLong(FileUpload::getFileSize)
-            .sum();
-
-        return new FileStatistics(totalFiles, totalSize);
+        return new FileStatistics(statisticsService.getFileCount(), statisticsService.getFileTotalSize());
     }
 
-    // Get file statistics by form
+    // Get file statistics for active files of a form
     public FileStatistics getFileStatisticsByForm(Long formId) {
-        List<FileUpload> files = fileUploadRepository.findByFormId(formId);
-        long totalSize = files.stream()
-            .mapToLong(FileUpload::getFileSize)
-            .sum();
+        return storageRollupService.getTotals(StorageRollupService.Scope.FORM, formId);
+    }
+
+    // Get file statistics for active files uploaded by a user
+    public FileStatistics getFileStatisticsByUser(Long userId) {
+        return storageRollupService.getTotals(StorageRollupService.Scope.USER, userId);
+    }
 
-        return new FileStatistics(files.size(), totalSize);
+    // Get file statistics for active files per MIME type
+    public Map<String, FileStatistics> getFileStatisticsByType() {
+        return storageRollupService.getAll(StorageRollupService.Scope.MIME);
     }
 
     // Validate file
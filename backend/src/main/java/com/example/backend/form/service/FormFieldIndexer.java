@@ -0,0 +1,130 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormFieldValue;
+import com.example.backend.form.repository.FormRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Keeps form_field_values in step with Form.formData. Every scalar field value (and
+// every element of a list value) becomes one row with its text, and its number or
+// date when it parses as one. Forms written before the table existed are indexed
+// in batches on startup.
+@Service
+public class FormFieldIndexer {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Replace the form's rows; runs in the caller's transaction
+    public void index(Form form, Map<String, Object> formData) {
+        formRepository.replaceFieldValues(form.getId(), extract(form, formData));
+    }
+
+    // Replace the rows of only the given fields, e.g. the fields of one saved step
+    public void indexFields(Form form, Map<String, Object> changed) {
+        List<String> names = changed.keySet().stream()
+                .filter(name -> name != null && name.length() <= FormFieldValue.MAX_FIELD_NAME_LENGTH)
+                .toList();
+        formRepository.replaceFieldValues(form.getId(), names, extract(form, changed));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long indexed = 0;
+        Long afterId = 0L;
+        List<FormRepository.IndexSource> batch;
+        do {
+            batch = formRepository.findUnindexedForms(afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (FormRepository.IndexSource source : batch) {
+                Form form = new Form();
+                form.setId(source.getId());
+                try {
+                    index(form, objectMapper.readValue(source.getFormData(), new TypeReference<Map<String, Object>>() {}));
+                    indexed++;
+                } catch (JsonProcessingException e) {
+                    System.err.println("Skipping field index for form " + source.getId() + ": " + e.getMessage());
+                }
+                afterId = source.getId();
+            }
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+        if (indexed > 0) {
+            System.out.println("Indexed form fields for " + indexed + " forms");
+        }
+    }
+
+    static List<FormFieldValue> extract(Form form, Map<String, Object> formData) {
+        List<FormFieldValue> values = new ArrayList<>();
+        if (formData == null) {
+            return values;
+        }
+        formData.forEach((name, value) -> {
+            if (name == null || value == null || name.length() > FormFieldValue.MAX_FIELD_NAME_LENGTH) {
+                return;
+            }
+            Collection<?> elements = value instanceof Collection<?> list ? list : List.of(value);
+            for (Object element : elements) {
+                FormFieldValue row = toRow(form, name, element);
+                if (row != null) {
+                    values.add(row);
+                }
+            }
+        });
+        return values;
+    }
+
+    // Nested objects are not indexed; blank values have nothing to match
+    private static FormFieldValue toRow(Form form, String name, Object value) {
+        if (value == null || value instanceof Map<?, ?> || value instanceof Collection<?>) {
+            return null;
+        }
+        BigDecimal number = null;
+        String text;
+        if (value instanceof Number n) {
+            number = new BigDecimal(n.toString());
+            text = number.stripTrailingZeros().toPlainString();
+        } else {
+            text = value.toString().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                number = new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                // Not numeric
+            }
+        }
+        return new FormFieldValue(form, name, FormFieldValue.normalizeText(text),
+                FormFieldValue.normalizeNumber(number), parseDate(text));
+    }
+
+    // A plain date or the date part of an ISO timestamp
+    private static LocalDate parseDate(String text) {
+        if (text.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
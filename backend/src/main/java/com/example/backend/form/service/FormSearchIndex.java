@@ -0,0 +1,470 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormComment;
+import com.example.backend.form.model.FormStepData;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.repository.FormCommentRepository;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.FormStepDataRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// In-memory inverted index over forms for approver search. A form is one document
+// made of named sections: type, status, student, one per formData field, one per
+// comment and one per attachment name. Writes replace single sections after their
+// transaction commits, so a status change or a new comment never rebuilds the
+// whole document. Results need every query term (the last one also matches as a
+// prefix) and are ranked with BM25, with type, student and file names weighted up.
+// The index is rebuilt from the database on startup; writes that land while the
+// rebuild is reading are recorded and replayed onto the new index before it is
+// swapped in.
+@Service
+public class FormSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "the", "to", "was", "with");
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private FormStepDataRepository formStepDataRepository;
+
+    @Autowired
+    private FormCommentRepository formCommentRepository;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Writes applied since the running rebuild started; null when none is running
+    private List<Consumer<Index>> rebuildWrites;
+
+    // A submitted or re-saved form: display fields, type/status/student and the given data
+    public void formSaved(Form form, Map<String, Object> formData) {
+        Long formId = form.getId();
+        String type = form.getType();
+        String status = form.getStatus();
+        LocalDateTime submittedDate = form.getSubmittedDate();
+        User student = form.getStudent();
+        String studentName = student != null ? (student.getUsername() != null ? student.getUsername() : student.getEmail()) : null;
+        String studentText = student != null ? join(student.getUsername(), student.getEmail()) : null;
+        Map<String, String> data = dataSections(formData);
+        AfterCommit.run(() -> write(idx -> {
+            Doc doc = idx.doc(formId);
+            doc.type = type;
+            doc.status = status;
+            doc.studentName = studentName;
+            doc.submittedDate = submittedDate;
+            idx.put(doc, "type", type);
+            idx.put(doc, "status", status);
+            idx.put(doc, "student", studentText);
+            data.forEach((key, text) -> idx.put(doc, key, text));
+        }));
+    }
+
+    // Changed formData fields, e.g. one saved step
+    public void formDataChanged(Long formId, Map<String, Object> changed) {
+        Map<String, String> data = dataSections(changed);
+        AfterCommit.run(() -> write(idx -> {
+            Doc doc = idx.docs.get(formId);
+            if (doc != null) {
+                data.forEach((key, text) -> idx.put(doc, key, text));
+            }
+        }));
+    }
+
+    public void statusChanged(Long formId, String status) {
+        statusChanged(List.of(formId), status);
+    }
+
+    public void statusChanged(Collection<Long> formIds, String status) {
+        List<Long> ids = List.copyOf(formIds);
+        AfterCommit.run(() -> write(idx -> {
+            for (Long id : ids) {
+                Doc doc = idx.docs.get(id);
+                if (doc != null) {
+                    doc.status = status;
+                    idx.put(doc, "status", status);
+                }
+            }
+        }));
+    }
+
+    public void commentAdded(FormComment comment) {
+        Long formId = comment.getForm().getId();
+        String key = "comment:" + comment.getId();
+        String text = comment.getComment();
+        AfterCommit.run(() -> write(idx -> {
+            Doc doc = idx.docs.get(formId);
+            if (doc != null) {
+                idx.put(doc, key, text);
+            }
+        }));
+    }
+
+    public void fileAdded(FileUpload file) {
+        Long formId = file.getForm() != null ? file.getForm().getId() : null;
+        String key = "file:" + file.getId();
+        String text = file.getOriginalFileName();
+        AfterCommit.run(() -> write(idx -> {
+            Doc doc = idx.docs.get(formId);
+            if (doc != null) {
+                idx.put(doc, key, text);
+            }
+        }));
+    }
+
+    public void fileRemoved(FileUpload file) {
+        Long formId = file.getForm() != null ? file.getForm().getId() : null;
+        String key = "file:" + file.getId();
+        AfterCommit.run(() -> write(idx -> {
+            Doc doc = idx.docs.get(formId);
+            if (doc != null) {
+                idx.put(doc, key, null);
+            }
+        }));
+    }
+
+    // Ranked search; page is zero-based
+    public SearchPage search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchPage(List.of(), 0, pageNumber, pageSize);
+        }
+
+        lock.readLock().lock();
+        try {
+            Index idx = index;
+            // Per query term: BM25 score of each matching form
+            List<Map<Long, Double>> matches = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = i == terms.size() - 1;
+                Map<Long, Double> scores = idx.termScores(terms.get(i), prefix);
+                if (scores.isEmpty()) {
+                    return new SearchPage(List.of(), 0, pageNumber, pageSize);
+                }
+                matches.add(scores);
+            }
+            matches.sort(Comparator.comparingInt(Map::size));
+
+            Map<Long, Double> ranked = new HashMap<>(matches.get(0));
+            for (Map<Long, Double> term : matches.subList(1, matches.size())) {
+                ranked.keySet().retainAll(term.keySet());
+                ranked.replaceAll((id, score) -> score + term.get(id));
+            }
+
+            List<SearchHit> hits = ranked.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .skip((long) pageNumber * pageSize)
+                .limit(pageSize)
+                .map(entry -> new SearchHit(idx.docs.get(entry.getKey()), entry.getValue()))
+                .collect(Collectors.toList());
+            return new SearchPage(hits, ranked.size(), pageNumber, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of indexed forms
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Build a fresh index from the database, a page of forms at a time, then swap it in.
+    // A write may land after its form's batch was read, so every write since the start
+    // is replayed onto the fresh index first; each one sets whole sections, so
+    // replaying a change the batch already saw leaves the same result
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Consumer<Index>> writes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            rebuildWrites = writes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = null;
+        try {
+            fresh = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (Consumer<Index> change : writes) {
+                        change.accept(fresh);
+                    }
+                    index = fresh;
+                }
+                rebuildWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        System.out.println("Search index built for " + fresh.docs.size() + " forms, replayed " + writes.size() + " writes");
+    }
+
+    private Index load() {
+        Index fresh = new Index();
+        Long afterId = 0L;
+        List<FormRepository.SearchSource> batch;
+        do {
+            batch = formRepository.findSearchSources(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = batch.stream().map(FormRepository.SearchSource::getId).toList();
+            for (FormRepository.SearchSource source : batch) {
+                Doc doc = fresh.doc(source.getId());
+                doc.type = source.getType();
+                doc.status = source.getStatus();
+                doc.studentName = source.getStudentName() != null ? source.getStudentName() : source.getStudentEmail();
+                doc.submittedDate = source.getSubmittedDate();
+                fresh.put(doc, "type", source.getType());
+                fresh.put(doc, "status", source.getStatus());
+                fresh.put(doc, "student", join(source.getStudentName(), source.getStudentEmail()));
+                dataSections(parse(source.getFormData())).forEach((key, text) -> fresh.put(doc, key, text));
+                afterId = source.getId();
+            }
+            for (FormStepData step : formStepDataRepository.findByFormIdInOrderByStepNumberAsc(ids)) {
+                Doc doc = fresh.docs.get(step.getForm().getId());
+                dataSections(parse(step.getData())).forEach((key, text) -> fresh.put(doc, key, text));
+            }
+            for (FormCommentRepository.CommentText comment : formCommentRepository.findCommentTexts(ids)) {
+                fresh.put(fresh.docs.get(comment.getFormId()), "comment:" + comment.getId(), comment.getComment());
+            }
+            for (FileUploadRepository.FileName file : fileUploadRepository.findActiveFileNames(ids)) {
+                fresh.put(fresh.docs.get(file.getFormId()), "file:" + file.getId(), file.getOriginalFileName());
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        return fresh;
+    }
+
+    private void write(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (rebuildWrites != null) {
+                rebuildWrites.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Object> parse(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    // One section per formData field; list values are indexed as their joined elements
+    private static Map<String, String> dataSections(Map<String, Object> data) {
+        Map<String, String> sections = new HashMap<>();
+        if (data != null) {
+            data.forEach((name, value) -> {
+                if (name == null) {
+                    return;
+                }
+                String text = null;
+                if (value instanceof Collection<?> values) {
+                    text = values.stream().filter(Objects::nonNull).map(String::valueOf).collect(Collectors.joining(" "));
+                } else if (value != null && !(value instanceof Map<?, ?>)) {
+                    text = value.toString();
+                }
+                sections.put("data:" + name, text);
+            });
+        }
+        return sections;
+    }
+
+    private static String join(String first, String second) {
+        return (first != null ? first : "") + " " + (second != null ? second : "");
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static double weight(String section) {
+        if (section.equals("type") || section.equals("student")) {
+            return 2.0;
+        }
+        return section.startsWith("file:") ? 1.5 : 1.0;
+    }
+
+    // Postings and documents; only touched under the lock
+    private static final class Index {
+        private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private double totalLength;
+
+        private Doc doc(Long formId) {
+            return docs.computeIfAbsent(formId, Doc::new);
+        }
+
+        // Replace one section of a document; null text removes it
+        private void put(Doc doc, String section, String text) {
+            Map<String, Integer> old = doc.sections.remove(section);
+            if (old != null) {
+                apply(doc, section, old, -1);
+            }
+            List<String> tokens = tokenize(text);
+            if (!tokens.isEmpty()) {
+                Map<String, Integer> counts = new HashMap<>();
+                tokens.forEach(token -> counts.merge(token, 1, Integer::sum));
+                doc.sections.put(section, counts);
+                apply(doc, section, counts, 1);
+            }
+        }
+
+        private void apply(Doc doc, String section, Map<String, Integer> counts, int sign) {
+            double w = weight(section);
+            counts.forEach((term, count) -> {
+                double delta = sign * w * count;
+                Map<Long, Double> posting = postings.computeIfAbsent(term, t -> new HashMap<>());
+                double tf = posting.getOrDefault(doc.formId, 0.0) + delta;
+                if (tf > 1e-9) {
+                    posting.put(doc.formId, tf);
+                } else {
+                    posting.remove(doc.formId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+                doc.length += delta;
+                totalLength += delta;
+            });
+        }
+
+        // BM25 contribution of one query term per matching document; a prefix term
+        // takes the best-scoring expansion per document
+        private Map<Long, Double> termScores(String term, boolean prefix) {
+            Map<Long, Double> scores = new HashMap<>();
+            Collection<Map.Entry<String, Map<Long, Double>>> expansions = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()
+                : Optional.ofNullable(postings.get(term)).map(p -> List.of(Map.entry(term, p))).orElse(List.of());
+            int n = docs.size();
+            double avgLength = n > 0 ? Math.max(totalLength / n, 1.0) : 1.0;
+            int expanded = 0;
+            for (Map.Entry<String, Map<Long, Double>> expansion : expansions) {
+                if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                Map<Long, Double> posting = expansion.getValue();
+                double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((formId, tf) -> {
+                    double length = docs.get(formId).length;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+                    scores.merge(formId, score, Math::max);
+                });
+            }
+            return scores;
+        }
+    }
+
+    private static final class Doc {
+        private final Long formId;
+        private final Map<String, Map<String, Integer>> sections = new HashMap<>();
+        private double length;
+        private String type;
+        private String status;
+        private String studentName;
+        private LocalDateTime submittedDate;
+
+        private Doc(Long formId) {
+            this.formId = formId;
+        }
+    }
+
+    public static class SearchHit {
+        private final Long formId;
+        private final String type;
+        private final String status;
+        private final String studentName;
+        private final LocalDateTime submittedDate;
+        private final double score;
+
+        private SearchHit(Doc doc, double score) {
+            this.formId = doc.formId;
+            this.type = doc.type;
+            this.status = doc.status;
+            this.studentName = doc.studentName;
+            this.submittedDate = doc.submittedDate;
+            this.score = score;
+        }
+
+        public Long getFormId() { return formId; }
+        public String getType() { return type; }
+        public String getStatus() { return status; }
+        public String getStudentName() { return studentName; }
+        public LocalDateTime getSubmittedDate() { return submittedDate; }
+        public double getScore() { return score; }
+    }
+
+    public static class SearchPage {
+        private final List<SearchHit> hits;
+        private final long total;
+        private final int page;
+        private final int size;
+
+        public SearchPage(List<SearchHit> hits, long total, int page, int size) {
+            this.hits = hits;
+            this.total = total;
+            this.page = page;
+            this.size = size;
+        }
+
+        public List<SearchHit> getHits() { return hits; }
+        public long getTotal() { return total; }
+        public int getPage() { return page; }
+        public int getSize() { return size; }
+    }
+}
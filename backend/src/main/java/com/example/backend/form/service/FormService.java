@@ -1,13 +1,20 @@
 package com.example.backend.form.service;
 
+import com.example.backend.form.model.CursorPage;
+import com.example.backend.form.model.FieldPredicate;
 import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormSummary;
+import com.example.backend.form.model.KeysetCursor;
 import com.example.backend.form.model.FormTemplate;
 import com.example.backend.form.model.User;
 import com.example.backend.form.model.FormComment;
+import com.example.backend.form.model.FormStepData;
+import com.example.backend.form.model.Notification;
 import com.example.backend.form.repository.FormRepository;
 import com.example.backend.form.repository.FormTemplateRepository;
 import com.example.backend.form.repository.UserRepository;
 import com.example.backend.form.repository.FormCommentRepository;
+import com.example.backend.form.repository.FormStepDataRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +30,10 @@ import java.util.stream.Collectors;
 @Transactional
 public class FormService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STEP_DATA_BATCH = 500;
+    private static final List<String> FORM_STATUSES = List.of("Pending", "Approved", "Rejected");
+
     @Autowired
     private FormRepository formRepository;
 
@@ -38,6 +49,27 @@ public class FormService {
     @Autowired
     private FormCommentRepository formCommentRepository;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TemplateValidatorCache templateValidatorCache;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
+
+    @Autowired
+    private FormFieldIndexer formFieldIndexer;
+
+    @Autowired
+    private FormStepDataRepository formStepDataRepository;
+
+    @Autowired
+    private FormSearchIndex formSearchIndex;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Form Submission
@@ -45,7 +77,8 @@ public class FormService {
         User student = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        FormTemplate template = formTemplateRepository.findById(templateId)
+        FormTemplate template = templateCatalog.findActive(templateId)
+                .or(() -> formTemplateRepository.findById(templateId))
                 .orElseThrow(() -> new RuntimeException("Form template not found"));
 
         if (!template.isActive()) {
@@ -57,6 +90,7 @@ public class FormService {
 
         Form form = new Form();
         form.setStudent(student);
+        form.setDepartment(student.getDepartment());
         form.setType(template.getName());
         form.setStatus("Pending");
         form.setSubmittedDate(LocalDateTime.now());
@@ -65,6 +99,9 @@ public class FormService {
         form.setFormData(convertToJson(formData));
 
         Form savedForm = formRepository.save(form);
+        formFieldIndexer.index(savedForm, formData);
+        formSearchIndex.formSaved(savedForm, formData);
+        statisticsService.formCreated(savedForm.getStatus());
 
         // Send notification to approvers
         if (template.isRequiresApproval()) {
@@ -76,31 +113,18 @@ public class FormService {
 
     // Form Validation
     private void validateFormData(Map<String, Object> formData, FormTemplate template) {
-        try {
-            List<String> requiredFields = objectMapper.readValue(
-                template.getRequiredFields(), 
-                new TypeReference<List<String>>() {}
-            );
-
-            for (String field : requiredFields) {
-                if (!formData.containsKey(field) || formData.get(field) == null || 
-                    formData.get(field).toString().trim().isEmpty()) {
-                    throw new RuntimeException("Required field missing: " + field);
-                }
-            }
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error validating form data", e);
-        }
+        templateValidatorCache.get(template).validate(formData);
     }
 
     // Get Forms for Student
     public List<Form> getStudentForms(String userEmail) {
         User student = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return formRepository.findByStudent(student);
+        return withStepData(formRepository.findByStudent(student));
     }
 
-    // Get Forms for Approver
+    // Get Forms for Approver. Legacy, unpaged: loads the whole queue; the approver
+    // inbox pages through ApproverQueueService.getQueue instead.
     public List<Form> getApproverForms(String userEmail) {
         User approver = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -109,12 +133,18 @@ public class FormService {
             throw new RuntimeException("User is not authorized to approve forms");
         }
 
-        return formRepository.findByStatus("Pending");
+        // Approvers see their own department's queue (plus forms without a department),
+        // oldest first; admins see everything
+        if (approver.getRole() == User.Role.Approver && approver.getDepartment() != null
+                && !approver.getDepartment().isBlank()) {
+            return withStepData(formRepository.findDepartmentQueue("Pending", approver.getDepartment()));
+        }
+        return withStepData(formRepository.findByStatus("Pending"));
     }
 
     // Get Pending Forms
     public List<Form> getPendingForms() {
-        return formRepository.findByStatus("Pending");
+        return withStepData(formRepository.findByStatus("Pending"));
     }
 
     // Approve Form
@@ -139,6 +169,8 @@ public class FormService {
         form.setComments(comments);
 
         Form savedForm = formRepository.save(form);
+        statisticsService.formStatusChanged("Pending", "Approved");
+        formSearchIndex.statusChanged(formId, "Approved");
 
         // Notify student
         notificationService.createNotification(
@@ -148,7 +180,7 @@ public class FormService {
             "FORM_APPROVED"
         );
 
-        return savedForm;
+        return withStepData(savedForm);
     }
 
     // Reject Form
@@ -173,6 +205,8 @@ public class FormService {
         form.setComments(comments);
 
         Form savedForm = formRepository.save(form);
+        statisticsService.formStatusChanged("Pending", "Rejected");
+        formSearchIndex.statusChanged(formId, "Rejected");
 
         // Notify student
         notificationService.createNotification(
@@ -182,34 +216,76 @@ public class FormService {
             "FORM_REJECTED"
         );
 
-        return savedForm;
+        return withStepData(savedForm);
     }
 
-    // Update Form Step
-    public Form updateFormStep(Long formId, Integer currentStep, Map<String, Object> stepData) {
+    // Save one step's fields. Only that step's row is written; the form row just gets
+    // its step pointer moved. expectedVersion is the version returned by the client's
+    // previous save of this step (null on the first save, or to skip the check); a
+    // mismatch rejects the save, as does the step's @Version if another save lands
+    // between this read and the write. Only the form's own student may save, and only
+    // while the form is still pending.
+    public FormStepData updateFormStep(Long formId, Integer currentStep, Map<String, Object> stepData,
+                                       Long expectedVersion, String studentEmail) {
         Form form = formRepository.findById(formId)
                 .orElseThrow(() -> new RuntimeException("Form not found"));
 
-        if (currentStep > form.getTotalSteps()) {
+        User student = userRepository.findByEmail(studentEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (form.getStudent() == null || !student.getId().equals(form.getStudent().getId())) {
+            throw new RuntimeException("User is not authorized to edit this form");
+        }
+
+        if (!"Pending".equals(form.getStatus())) {
+            throw new RuntimeException("Form is not in pending status");
+        }
+
+        if (currentStep < 1 || currentStep > form.getTotalSteps()) {
             throw new RuntimeException("Step exceeds total steps");
         }
 
-        form.setCurrentStep(currentStep);
-        
-        // Merge step data with existing form data
-        Map<String, Object> existingData = convertFromJson(form.getFormData());
-        existingData.putAll(stepData);
-        form.setFormData(convertToJson(existingData));
+        FormStepData step = formStepDataRepository.findByFormIdAndStepNumber(formId, currentStep).orElse(null);
+        if (expectedVersion != null && (step == null || step.getVersion() != expectedVersion)) {
+            throw new RuntimeException("Step " + currentStep + " was changed by another request");
+        }
+        if (step == null) {
+            step = new FormStepData(form, currentStep);
+        }
+
+        // Merge into this step's fields only
+        Map<String, Object> data = convertFromJson(step.getData());
+        data.putAll(stepData);
+        step.setData(convertToJson(data));
+        step.setUpdatedAt(LocalDateTime.now());
+        FormStepData savedStep = formStepDataRepository.saveAndFlush(step);
+
+        if (form.getCurrentStep() != currentStep) {
+            formRepository.updateCurrentStep(formId, currentStep);
+        }
+        formFieldIndexer.indexFields(form, stepData);
+        formSearchIndex.formDataChanged(formId, stepData);
+        return savedStep;
+    }
 
-        return formRepository.save(form);
+    // Full form data: the submitted fields overlaid with each saved step, in step order
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFormData(Long formId) {
+        Form form = formRepository.findById(formId)
+                .orElseThrow(() -> new RuntimeException("Form not found"));
+        Map<String, Object> data = convertFromJson(form.getFormData());
+        for (FormStepData step : formStepDataRepository.findByFormIdOrderByStepNumberAsc(formId)) {
+            data.putAll(convertFromJson(step.getData()));
+        }
+        return data;
     }
 
     // Get Form Statistics
     public Map<String, Object> getFormStatistics() {
-        long totalForms = formRepository.count();
-        long pendingForms = formRepository.countByStatus("Pending");
-        long approvedForms = formRepository.countByStatus("Approved");
-        long rejectedForms = formRepository.countByStatus("Rejected");
+        long totalForms = statisticsService.getFormTotal();
+        long pendingForms = statisticsService.getFormCount("Pending");
+        long approvedForms = statisticsService.getFormCount("Approved");
+        long rejectedForms = statisticsService.getFormCount("Rejected");
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("total", totalForms);
@@ -223,23 +299,47 @@ public class FormService {
 
     // Get Forms by Status
     public List<Form> getFormsByStatus(String status) {
-        return formRepository.findByStatus(status);
+        return withStepData(formRepository.findByStatus(status));
     }
 
     // Get Forms by Type
     public List<Form> getFormsByType(String type) {
-        return formRepository.findByType(type);
+        return withStepData(formRepository.findByType(type));
     }
 
     // Search Forms
     public List<Form> searchForms(String keyword) {
-        return formRepository.findByTypeContainingIgnoreCaseOrStatusContainingIgnoreCase(keyword, keyword);
+        return withStepData(formRepository.findByTypeContainingIgnoreCaseOrStatusContainingIgnoreCase(keyword, keyword));
     }
 
     // Get form by ID
     public Form getFormById(Long formId) {
-        return formRepository.findById(formId)
-                .orElseThrow(() -> new RuntimeException("Form not found"));
+        return withStepData(formRepository.findById(formId)
+                .orElseThrow(() -> new RuntimeException("Form not found")));
+    }
+
+    // Attach the saved steps to the formData the forms serialize, so a served Form
+    // carries the same data as GET /{id}/data; one step query per batch of forms
+    public List<Form> withStepData(List<Form> forms) {
+        Map<Long, Form> byId = new HashMap<>();
+        forms.forEach(form -> byId.put(form.getId(), form));
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int start = 0; start < ids.size(); start += STEP_DATA_BATCH) {
+            List<Long> batch = ids.subList(start, Math.min(start + STEP_DATA_BATCH, ids.size()));
+            Map<Long, Map<String, Object>> merged = new HashMap<>();
+            for (FormStepData step : formStepDataRepository.findByFormIdInOrderByStepNumberAsc(batch)) {
+                Long formId = step.getForm().getId();
+                merged.computeIfAbsent(formId, id -> convertFromJson(byId.get(id).getFormData()))
+                        .putAll(convertFromJson(step.getData()));
+            }
+            merged.forEach((formId, data) -> byId.get(formId).attachStepFormData(convertToJson(data)));
+        }
+        return forms;
+    }
+
+    public Form withStepData(Form form) {
+        withStepData(List.of(form));
+        return form;
     }
 
     // Helper methods
@@ -263,55 +363,154 @@ public class FormService {
     }
 
     private void notifyApprovers(Form form, FormTemplate template) {
-        List<User> approvers = userRepository.findByRole(User.Role.Approver);
-        
-        for (User approver : approvers) {
-            notificationService.createNotification(
-                approver,
-                "New Form Submission",
-                "A new " + form.getType() + " form has been submitted by " + form.getStudent().getUsername(),
-                "NEW_FORM_SUBMISSION"
-            );
-        }
+        String message = "A new " + form.getType() + " form has been submitted by " + form.getStudent().getUsername();
+        String formId = String.valueOf(form.getId());
+
+        // Fan out only once the form is committed; the insert itself runs asynchronously
+        AfterCommit.run(() -> notificationService.createRoleNotifications(
+            User.Role.Approver,
+            "New Form Submission",
+            message,
+            "NEW_FORM_SUBMISSION",
+            formId
+        ));
     }
 
-    public List<Form> filterForms(String status, String type, String studentName, String keyword) {
-        // Basic implementation: filter in memory, can be optimized with custom queries
-        List<Form> forms = formRepository.findAll();
-        return forms.stream()
-            .filter(f -> status == null || f.getStatus().equalsIgnoreCase(status))
-            .filter(f -> type == null || f.getType().equalsIgnoreCase(type))
-            .filter(f -> studentName == null || (f.getStudent() != null && f.getStudent().getUsername() != null && f.getStudent().getUsername().toLowerCase().contains(studentName.toLowerCase())))
-            .filter(f -> keyword == null ||
-                (f.getType() != null && f.getType().toLowerCase().contains(keyword.toLowerCase())) ||
-                (f.getStatus() != null && f.getStatus().toLowerCase().contains(keyword.toLowerCase())) ||
-                (f.getStudent() != null && f.getStudent().getUsername() != null && f.getStudent().getUsername().toLowerCase().contains(keyword.toLowerCase()))
-            )
-            .toList();
+    // Filter forms in the database, newest first, one keyset page at a time
+    @Transactional(readOnly = true)
+    public CursorPage<FormSummary> filterForms(String status, String type, String studentName, String keyword,
+                                               String cursor, int size) {
+        return filterForms(status, type, studentName, keyword, List.of(), cursor, size);
     }
 
-    public List<Form> bulkApproveForms(List<Long> formIds, String approverEmail, String comments) {
-        List<Form> updated = new ArrayList<>();
-        for (Long id : formIds) {
-            try {
-                updated.add(approveForm(id, approverEmail, comments));
-            } catch (Exception e) {
-                // Optionally log or collect errors
+    // As above, also matching formData fields given as field:op:value (see FieldPredicate)
+    @Transactional(readOnly = true)
+    public CursorPage<FormSummary> filterForms(String status, String type, String studentName, String keyword,
+                                               List<String> fieldFilters, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<FieldPredicate> fields = new ArrayList<>();
+        if (fieldFilters != null) {
+            for (String filter : fieldFilters) {
+                if (filter != null && !filter.isBlank()) {
+                    fields.add(FieldPredicate.parse(filter));
+                }
             }
         }
-        return updated;
+
+        List<FormSummary> rows = formRepository.findSummaries(
+                storedStatus(blankToNull(status)), storedType(blankToNull(type)), blankToNull(studentName),
+                blankToNull(keyword), fields, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, last -> new KeysetCursor(last.getSubmittedDate(), last.getId()));
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    // The filter matches status and type exactly, so the index can serve it; map what
+    // the client sent onto the stored casing, as the old in-memory filter ignored case
+    private String storedStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        return FORM_STATUSES.stream().filter(status::equalsIgnoreCase).findFirst().orElse(status);
+    }
+
+    // Form types are template names; unknown types are matched as given
+    private String storedType(String type) {
+        if (type == null) {
+            return null;
+        }
+        return templateCatalog.getActiveTemplates().stream()
+                .map(FormTemplate::getName)
+                .filter(type::equalsIgnoreCase)
+                .findFirst()
+                .orElse(type);
+    }
+
+    // Bulk approve; one result per requested id
+    public BulkDecisionReport bulkApproveForms(List<Long> formIds, String approverEmail, String comments,
+                                               String ipAddress, String userAgent) {
+        return decideForms(formIds, approverEmail, comments, true, ipAddress, userAgent);
+    }
+
+    // Bulk reject; one result per requested id
+    public BulkDecisionReport bulkRejectForms(List<Long> formIds, String approverEmail, String comments,
+                                              String ipAddress, String userAgent) {
+        return decideForms(formIds, approverEmail, comments, false, ipAddress, userAgent);
     }
 
-    public List<Form> bulkRejectForms(List<Long> formIds, String approverEmail, String comments) {
-        List<Form> updated = new ArrayList<>();
-        for (Long id : formIds) {
-            try {
-                updated.add(rejectForm(id, approverEmail, comments));
-            } catch (Exception e) {
-                // Optionally log or collect errors
+    // Set-based decision: one query loads every target, one JDBC batch applies a
+    // conditional, version-checked UPDATE, and notifications go in one batch insert.
+    // Audit rows are queued after commit and batch-written by AuditLogWriter.
+    private BulkDecisionReport decideForms(List<Long> formIds, String approverEmail, String comments, boolean approve,
+                                           String ipAddress, String userAgent) {
+        User approver = userRepository.findByEmail(approverEmail)
+                .orElseThrow(() -> new RuntimeException("Approver not found"));
+
+        if (approver.getRole() != User.Role.Approver && approver.getRole() != User.Role.Admin) {
+            throw new RuntimeException("User is not authorized to " + (approve ? "approve" : "reject") + " forms");
+        }
+
+        BulkDecisionReport report = new BulkDecisionReport();
+        Set<Long> ids = new LinkedHashSet<>();
+        if (formIds != null) {
+            formIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        }
+        if (ids.isEmpty()) {
+            return report;
+        }
+
+        Map<Long, FormRepository.DecisionTarget> found = formRepository.findDecisionTargets(ids).stream()
+                .collect(Collectors.toMap(FormRepository.DecisionTarget::getId, target -> target));
+
+        List<FormRepository.DecisionTarget> pending = new ArrayList<>();
+        for (Long id : ids) {
+            FormRepository.DecisionTarget target = found.get(id);
+            if (target == null) {
+                report.fail(id, "Form not found");
+            } else if (!"Pending".equals(target.getStatus())) {
+                report.fail(id, "Form is not in pending status");
+            } else {
+                pending.add(target);
+            }
+        }
+
+        String newStatus = approve ? "Approved" : "Rejected";
+        LocalDateTime decidedAt = LocalDateTime.now();
+        int[] counts = pending.isEmpty()
+                ? new int[0]
+                : formRepository.decidePending(pending, newStatus, approver.getId(), decidedAt, comments);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            FormRepository.DecisionTarget target = pending.get(i);
+            // No row updated: the form left Pending or its version moved after it was read
+            if (counts[i] == 0) {
+                report.fail(target.getId(), "Form was changed by another request");
+                continue;
             }
+            report.succeed(target.getId());
+
+            User student = new User();
+            student.setId(target.getStudentId());
+            Notification notification = approve
+                    ? new Notification(student, "Form Approved",
+                        "Your " + target.getType() + " form has been approved.", "FORM_APPROVED")
+                    : new Notification(student, "Form Rejected",
+                        "Your " + target.getType() + " form has been rejected. Reason: " + comments, "FORM_REJECTED");
+            notification.setRelatedFormId(String.valueOf(target.getId()));
+            notifications.add(notification);
+
+            auditService.logBulkFormDecision(approver, approve, target.getId(), target.getType(), comments,
+                    ipAddress, userAgent);
         }
-        return updated;
+
+        notificationService.createNotifications(notifications);
+        statisticsService.formStatusChanged("Pending", newStatus, report.getSucceeded().size());
+        formSearchIndex.statusChanged(report.getSucceeded(), newStatus);
+        return report;
     }
 
     public FormComment addFormComment(Long formId, Long userId, String comment) {
@@ -322,11 +521,25 @@ public class FormService {
         formComment.setUser(user);
         formComment.setComment(comment);
         formComment.setCreatedAt(java.time.LocalDateTime.now());
-        return formCommentRepository.save(formComment);
+        FormComment saved = formCommentRepository.save(formComment);
+        formSearchIndex.commentAdded(saved);
+        return saved;
     }
 
     public List<FormComment> getFormComments(Long formId) {
         Form form = formRepository.findById(formId).orElseThrow(() -> new RuntimeException("Form not found"));
         return formCommentRepository.findByFormOrderByCreatedAtAsc(form);
     }
-} 
\ No newline at end of file
+
+    // Outcome of a bulk decision: decided ids in request order, and a reason for each failure
+    public static class BulkDecisionReport {
+        private final List<Long> succeeded = new ArrayList<>();
+        private final Map<Long, String> failed = new LinkedHashMap<>();
+
+        void succeed(Long formId) { succeeded.add(formId); }
+        void fail(Long formId, String reason) { failed.put(formId, reason); }
+
+        public List<Long> getSucceeded() { return succeeded; }
+        public Map<Long, String> getFailed() { return failed; }
+    }
+}
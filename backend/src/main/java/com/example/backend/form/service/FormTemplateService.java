@@ -2,15 +2,11 @@ package com.example.backend.form.service;
 
 import com.example.backend.form.model.FormTemplate;
 import com.example.backend.form.repository.FormTemplateRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
 
 @Service
 @Transactional
@@ -19,12 +15,18 @@ public class FormTemplateService {
     @Autowired
     private FormTemplateRepository formTemplateRepository;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private TemplateValidatorCache templateValidatorCache;
+
+    @Autowired
+    private TemplateCatalog templateCatalog;
 
     // Create new form template
     public FormTemplate createTemplate(FormTemplate template) {
         validateTemplate(template);
-        return formTemplateRepository.save(template);
+        FormTemplate saved = formTemplateRepository.save(template);
+        templateCatalog.invalidate();
+        return saved;
     }
 
     // Update existing template
@@ -44,12 +46,20 @@ public class FormTemplateService {
         existingTemplate.setActive(template.isActive());
         
         validateTemplate(existingTemplate);
-        return formTemplateRepository.save(existingTemplate);
+        FormTemplate saved = formTemplateRepository.save(existingTemplate);
+        templateValidatorCache.evict(id);
+        templateCatalog.invalidate();
+        return saved;
     }
 
-    // Get all active templates
+    // Get all active templates, served from the catalog cache
     public List<FormTemplate> getActiveTemplates() {
-        return formTemplateRepository.findByIsActiveTrue();
+        return templateCatalog.getActiveTemplates();
+    }
+
+    // Version stamp of the active template catalog, for ETags
+    public String getCatalogVersion() {
+        return templateCatalog.getVersion();
     }
 
     // Get all templates (including inactive)
@@ -68,6 +78,7 @@ public class FormTemplateService {
         FormTemplate template = getTemplateById(id);
         template.setActive(false);
         formTemplateRepository.save(template);
+        templateCatalog.invalidate();
     }
 
     // Activate template
@@ -75,27 +86,12 @@ public class FormTemplateService {
         FormTemplate template = getTemplateById(id);
         template.setActive(true);
         formTemplateRepository.save(template);
+        templateCatalog.invalidate();
     }
 
-    // Get templates by department
+    // Get templates by department, served from the catalog's department index
     public List<FormTemplate> getTemplatesByDepartment(String department) {
-        return formTemplateRepository.findByIsActiveTrueAndDepartmentRestrictedFalse()
-                .stream()
-                .filter(template -> {
-                    if (!template.isDepartmentRestricted()) {
-                        return true;
-                    }
-                    try {
-                        List<String> allowedDepartments = objectMapper.readValue(
-                            template.getAllowedDepartments(), 
-                            new TypeReference<List<String>>() {}
-                        );
-                        return allowedDepartments.contains(department);
-                    } catch (JsonProcessingException e) {
-                        return false;
-                    }
-                })
-                .toList();
+        return templateCatalog.getTemplatesForDepartment(department);
     }
 
     // Validate template data
@@ -112,37 +108,15 @@ public class FormTemplateService {
             throw new RuntimeException("Approval levels must be at least 1");
         }
 
-        // Validate required fields JSON
-        if (template.getRequiredFields() != null && !template.getRequiredFields().trim().isEmpty()) {
-            try {
-                objectMapper.readValue(template.getRequiredFields(), new TypeReference<List<String>>() {});
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Invalid required fields JSON format");
-            }
-        }
-
-        // Validate form fields JSON
-        if (template.getFormFields() != null && !template.getFormFields().trim().isEmpty()) {
-            try {
-                objectMapper.readValue(template.getFormFields(), new TypeReference<Map<String, Object>>() {});
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Invalid form fields JSON format");
-            }
-        }
-
-        // Validate allowed departments JSON
+        // Restricted templates must list their departments
         if (template.isDepartmentRestricted() && 
             (template.getAllowedDepartments() == null || template.getAllowedDepartments().trim().isEmpty())) {
             throw new RuntimeException("Allowed departments must be specified when department restriction is enabled");
         }
 
-        if (template.getAllowedDepartments() != null && !template.getAllowedDepartments().trim().isEmpty()) {
-            try {
-                objectMapper.readValue(template.getAllowedDepartments(), new TypeReference<List<String>>() {});
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Invalid allowed departments JSON format");
-            }
-        }
+        // Compiling parses requiredFields, formFields and allowedDepartments, and
+        // throws on malformed JSON
+        TemplateValidator.compile(template);
     }
 
     // Create default templates
@@ -154,6 +128,7 @@ public class FormTemplateService {
             createLeaveOfAbsenceTemplate();
             createGraduationApplicationTemplate();
             createScholarshipApplicationTemplate();
+            templateCatalog.invalidate();
         }
     }
 
@@ -0,0 +1,247 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+// Per-user unread/read/archived notification counts, loaded with one grouped query
+// on a miss and then kept exact by NotificationService, which reports every change
+// inside the transaction that makes it. A change is applied to the cached counts
+// when its transaction commits. While a change is in flight, or if one completed
+// while the counts were being loaded, the loaded counts are returned but not cached,
+// so a load can never cache a number that misses a committed change.
+@Component
+public class NotificationCounterCache {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Value("${app.notifications.counter-cache.max-entries:50000}")
+    private int maxEntries;
+
+    private final Map<Long, Holder> holders = new ConcurrentHashMap<>();
+
+    // Changes that touch users the cache cannot name (role fan-out)
+    private final AtomicInteger bulkPending = new AtomicInteger();
+    private final AtomicLong bulkSeq = new AtomicLong();
+
+    public Counts get(User user) {
+        Holder holder = holder(user.getId());
+        long seq;
+        long bulk;
+        boolean cacheable;
+        synchronized (holder) {
+            if (holder.counts != null) {
+                return holder.counts;
+            }
+            seq = holder.seq;
+            bulk = bulkSeq.get();
+            cacheable = holder.pending == 0 && bulkPending.get() == 0;
+        }
+
+        Counts loaded = load(user.getId());
+        if (cacheable) {
+            synchronized (holder) {
+                if (holder.counts == null && holder.pending == 0 && holder.seq == seq
+                        && bulkPending.get() == 0 && bulkSeq.get() == bulk) {
+                    holder.counts = loaded;
+                    holder.role = user.getRole();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // Notifications of a user moved from one status to another; a null 'from' means
+    // they were created and a null 'to' that they were deleted
+    public void changed(Long userId, Notification.NotificationStatus from, Notification.NotificationStatus to) {
+        changed(userId, from, to, 1);
+    }
+
+    public void changed(Long userId, Notification.NotificationStatus from, Notification.NotificationStatus to, long count) {
+        if (userId == null || count <= 0) {
+            return;
+        }
+        changed(userId, counts -> counts.move(from, to, count));
+    }
+
+    // One new unread notification for every user with the role
+    public void createdForRole(User.Role role) {
+        bulkChanged(() -> holders.values().forEach(holder -> {
+            synchronized (holder) {
+                if (holder.counts != null && holder.role == role) {
+                    holder.counts = holder.counts.move(null, Notification.NotificationStatus.UNREAD, 1);
+                }
+            }
+        }));
+    }
+
+    // Notifications of every user with the role changed in ways only the database
+    // knows (digests reopened or opened); their counts reload on next read
+    public void changedForRole(User.Role role) {
+        bulkChanged(() -> holders.values().forEach(holder -> {
+            synchronized (holder) {
+                if (holder.role == role) {
+                    holder.counts = null;
+                }
+            }
+        }));
+    }
+
+    // Drop a user's counts, e.g. after their role changed
+    public void evict(Long userId) {
+        Holder holder = holders.get(userId);
+        if (holder != null) {
+            synchronized (holder) {
+                holder.counts = null;
+                holder.seq++;
+            }
+        }
+    }
+
+    public int size() {
+        return holders.size();
+    }
+
+    private Counts load(Long userId) {
+        long unread = 0;
+        long read = 0;
+        long archived = 0;
+        for (NotificationRepository.StatusCount row : notificationRepository.countByStatusForUser(userId)) {
+            switch (row.getStatus()) {
+                case UNREAD -> unread = row.getCount();
+                case READ -> read = row.getCount();
+                case ARCHIVED -> archived = row.getCount();
+            }
+        }
+        return new Counts(unread, read, archived);
+    }
+
+    private void changed(Long userId, UnaryOperator<Counts> change) {
+        Holder holder = pin(userId);
+        onCompletion(committed -> {
+            synchronized (holder) {
+                if (committed && holder.counts != null) {
+                    holder.counts = change.apply(holder.counts);
+                }
+                holder.seq++;
+                holder.pending--;
+            }
+        });
+    }
+
+    private void bulkChanged(Runnable apply) {
+        bulkPending.incrementAndGet();
+        onCompletion(committed -> {
+            if (committed) {
+                apply.run();
+            }
+            bulkSeq.incrementAndGet();
+            bulkPending.decrementAndGet();
+        });
+    }
+
+    // Every NotificationService write is transactional; without a transaction (unit
+    // tests) the change is applied at once
+    private static void onCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    // Mark a change in flight on the user's holder; retried if the holder was evicted
+    // before the mark, since a load through a new holder would not see it
+    private Holder pin(Long userId) {
+        while (true) {
+            Holder holder = holder(userId);
+            synchronized (holder) {
+                if (holders.get(userId) == holder) {
+                    holder.pending++;
+                    return holder;
+                }
+            }
+        }
+    }
+
+    private Holder holder(Long userId) {
+        Holder holder = holders.get(userId);
+        if (holder != null) {
+            return holder;
+        }
+        if (holders.size() >= maxEntries) {
+            makeRoom();
+        }
+        return holders.computeIfAbsent(userId, id -> new Holder());
+    }
+
+    // Drop an arbitrary tenth of the idle entries
+    private void makeRoom() {
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<Holder> iterator = holders.values().iterator();
+        while (toRemove > 0 && iterator.hasNext()) {
+            Holder holder = iterator.next();
+            synchronized (holder) {
+                if (holder.pending == 0) {
+                    iterator.remove();
+                    toRemove--;
+                }
+            }
+        }
+    }
+
+    private static final class Holder {
+        private Counts counts;
+        private User.Role role;
+        private int pending;
+        private long seq;
+    }
+
+    public static final class Counts {
+        private final long unread;
+        private final long read;
+        private final long archived;
+
+        public Counts(long unread, long read, long archived) {
+            this.unread = unread;
+            this.read = read;
+            this.archived = archived;
+        }
+
+        public long getUnread() { return unread; }
+        public long getRead() { return read; }
+        public long getArchived() { return archived; }
+
+        private Counts move(Notification.NotificationStatus from, Notification.NotificationStatus to, long n) {
+            long u = unread;
+            long r = read;
+            long a = archived;
+            if (from == Notification.NotificationStatus.UNREAD) u -= n;
+            if (from == Notification.NotificationStatus.READ) r -= n;
+            if (from == Notification.NotificationStatus.ARCHIVED) a -= n;
+            if (to == Notification.NotificationStatus.UNREAD) u += n;
+            if (to == Notification.NotificationStatus.READ) r += n;
+            if (to == Notification.NotificationStatus.ARCHIVED) a += n;
+            return new Counts(Math.max(0, u), Math.max(0, r), Math.max(0, a));
+        }
+    }
+}
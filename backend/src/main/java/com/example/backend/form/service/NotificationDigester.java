@@ -0,0 +1,202 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Coalesces repetitive notifications. A notification of a digest type (by default
+// only new submissions for approvers) is folded into its recipient's digest row for
+// that type and time window: the row keeps the latest title and message, counts the
+// notifications it stands for, lists their form ids, and is reopened as unread. Its
+// createdAt stays put, so inbox pages stay stable; lastActivityAt records the fold.
+// An archived digest is left alone and the next notification opens a new one.
+// So an approver receives one row per window rather than one per submission.
+// Decisions sent to students are never digested: each carries its own form, type and
+// rejection reason, which a fold would overwrite with the latest one.
+//
+// Windows are fixed slices of app.notifications.digest.window-minutes; zero turns
+// digests off. Two concurrent first notifications for the same recipient, type and
+// window may open two digest rows; later ones are folded into both.
+@Component
+public class NotificationDigester {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Value("${app.notifications.digest.window-minutes:60}")
+    private long windowMinutes;
+
+    private static final Set<String> PER_FORM_TYPES = Set.of("FORM_APPROVED", "FORM_REJECTED", "approval", "rejection");
+
+    @Value("${app.notifications.digest.types:NEW_FORM_SUBMISSION}")
+    private String digestTypes;
+
+    private Set<String> types;
+
+    @PostConstruct
+    public void init() {
+        types = Arrays.stream(Objects.requireNonNullElse(digestTypes, "").split(","))
+            .map(String::trim)
+            .filter(type -> !type.isEmpty())
+            .filter(type -> {
+                if (PER_FORM_TYPES.contains(type)) {
+                    System.err.println("Ignoring digest type " + type + ": its notifications are per form");
+                    return false;
+                }
+                return true;
+            })
+            .collect(Collectors.toSet());
+    }
+
+    // Whether notifications of this type are folded into digests
+    public boolean isDigested(String type) {
+        return windowMinutes > 0 && type != null && types.contains(type);
+    }
+
+    // Start of the digest window a notification of this type falls in, or null when
+    // the type is not digested
+    public LocalDateTime windowOf(String type, LocalDateTime at) {
+        if (at == null || !isDigested(type)) {
+            return null;
+        }
+        long windowSeconds = Duration.ofMinutes(windowMinutes).toSeconds();
+        long epochSecond = at.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(epochSecond - Math.floorMod(epochSecond, windowSeconds), 0, ZoneOffset.UTC);
+    }
+
+    // Fold one notification into its digest; null when its type is not digested and
+    // it should be saved as is
+    public Notification add(Notification notification) {
+        LocalDateTime window = windowOf(notification.getType(), notification.getCreatedAt());
+        if (window == null || notification.getUser() == null) {
+            return null;
+        }
+        Long userId = notification.getUser().getId();
+        List<NotificationRepository.DigestRow> existing = notificationRepository.findDigests(
+            List.of(userId), List.of(notification.getType()), window);
+        if (existing.isEmpty()) {
+            notification.setDigestWindow(window);
+            notification.setLastActivityAt(notification.getCreatedAt());
+            notification.setDigestCount(1);
+            notification.setRelatedFormIds(notification.getRelatedFormId());
+            notificationCounterCache.changed(userId, null, notification.getStatus());
+            return notificationRepository.save(notification);
+        }
+        NotificationRepository.DigestRow digest = existing.get(0);
+        reopened(userId, digest);
+        return notificationRepository.addToDigest(digest.getId(), 1, joinFormIds(List.of(notification)), notification);
+    }
+
+    // Fold a batch. Existing digests are updated here; the returned notifications
+    // (undigested ones and new digest rows) are for the caller to insert.
+    public List<Notification> addAll(List<Notification> notifications) {
+        List<Notification> toInsert = new ArrayList<>();
+        Map<GroupKey, List<Notification>> groups = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            LocalDateTime window = windowOf(notification.getType(), notification.getCreatedAt());
+            if (window == null || notification.getUser() == null) {
+                toInsert.add(notification);
+                continue;
+            }
+            groups.computeIfAbsent(new GroupKey(notification.getUser().getId(), notification.getType(), window),
+                key -> new ArrayList<>()).add(notification);
+        }
+        if (groups.isEmpty()) {
+            return toInsert;
+        }
+
+        // One lookup per window; a batch nearly always falls in one
+        Map<GroupKey, NotificationRepository.DigestRow> existing = new HashMap<>();
+        Map<LocalDateTime, List<GroupKey>> byWindow = groups.keySet().stream()
+            .collect(Collectors.groupingBy(GroupKey::window));
+        byWindow.forEach((window, keys) -> {
+            Set<Long> userIds = keys.stream().map(GroupKey::userId).collect(Collectors.toSet());
+            Set<String> groupTypes = keys.stream().map(GroupKey::type).collect(Collectors.toSet());
+            for (NotificationRepository.DigestRow row : notificationRepository.findDigests(userIds, groupTypes, window)) {
+                existing.putIfAbsent(new GroupKey(row.getUserId(), row.getType(), window), row);
+            }
+        });
+
+        groups.forEach((key, group) -> {
+            group.sort(Comparator.comparing(Notification::getCreatedAt));
+            Notification latest = group.get(group.size() - 1);
+            NotificationRepository.DigestRow digest = existing.get(key);
+            if (digest != null) {
+                reopened(key.userId(), digest);
+                notificationRepository.addToDigest(digest.getId(), group.size(), joinFormIds(group), latest);
+            } else {
+                latest.setDigestWindow(key.window());
+                latest.setLastActivityAt(latest.getCreatedAt());
+                latest.setDigestCount(group.size());
+                latest.setRelatedFormIds(joinFormIds(group));
+                toInsert.add(latest);
+            }
+        });
+        return toInsert;
+    }
+
+    // Fold one notification for every user with a role into their digests, with one
+    // update and one insert; false when the type is not digested
+    public boolean addForRole(User.Role role, String title, String message, String type, String formId,
+                              LocalDateTime createdAt) {
+        LocalDateTime window = windowOf(type, createdAt);
+        if (window == null) {
+            return false;
+        }
+        // Digests of this role are reopened or created in ways only the database knows
+        notificationCounterCache.changedForRole(role);
+        notificationRepository.addToRoleDigests(role, title, message, type, formId, createdAt, window);
+        notificationRepository.insertRoleDigests(role, title, message, type, formId, createdAt, window);
+        return true;
+    }
+
+    private void reopened(Long userId, NotificationRepository.DigestRow digest) {
+        if (digest.getStatus() != Notification.NotificationStatus.UNREAD) {
+            notificationCounterCache.changed(userId, digest.getStatus(), Notification.NotificationStatus.UNREAD);
+        }
+    }
+
+    // Form ids of the notifications, oldest first, as many as fit the column; the
+    // repository appends them to a digest's list in SQL
+    static String joinFormIds(List<Notification> notifications) {
+        StringBuilder ids = new StringBuilder();
+        for (Notification notification : notifications) {
+            String formId = notification.getRelatedFormId();
+            if (formId == null || formId.isBlank()) {
+                continue;
+            }
+            int needed = formId.length() + (ids.length() > 0 ? 1 : 0);
+            if (ids.length() + needed > Notification.MAX_RELATED_FORM_IDS_LENGTH) {
+                break;
+            }
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(formId);
+        }
+        return ids.length() > 0 ? ids.toString() : null;
+    }
+
+    private record GroupKey(Long userId, String type, LocalDateTime window) {}
+}
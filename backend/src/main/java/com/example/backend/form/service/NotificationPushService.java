@@ -0,0 +1,272 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Server-sent events for new notifications, replacing unread-count polling. Each
+// open stream is a servlet async request, so an idle connection holds no thread;
+// sends run on a small shared pool so a slow client never blocks the writer of a
+// notification. Event ids are (lastActivityAt, id) positions, which only move forward
+// even when a digest is pushed again for a new fold; EventSource sends the last one
+// back as Last-Event-ID on reconnect so missed notifications are replayed. When the
+// replay would be cut short, or the position cannot be read, a "reset" event tells
+// the client to reload its list instead. A comment heartbeat keeps proxies from
+// closing idle streams and finds dead connections.
+@Service
+public class NotificationPushService {
+
+    private static final int RECENT_IDS_PER_STREAM = 256;
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${app.notifications.replay-limit:100}")
+    private int replayLimit;
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "notification-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    // Open a stream for a user, first replaying anything after lastEventId
+    public SseEmitter subscribe(User user, String lastEventId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Stream stream = new Stream(user.getId(), user.getRole(), emitter);
+        streams.compute(user.getId(), (id, userStreams) -> {
+            Set<Stream> set = userStreams != null ? userStreams : new CopyOnWriteArraySet<>();
+            set.add(stream);
+            return set;
+        });
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(error -> remove(stream));
+
+        // Sent before the response starts; SseEmitter buffers them until then
+        stream.send(SseEmitter.event().name("ready").data(Map.of("unreadCount", unreadCount)));
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return emitter;
+        }
+        List<NotificationRepository.NotificationView> missed = replay(user.getId(), lastEventId);
+        if (missed == null) {
+            // The client reloads everything up to now, so later reconnects resume from here
+            stream.send(SseEmitter.event().id(new KeysetCursor(LocalDateTime.now(), 0L).encode())
+                .name("reset").data(Map.of("unreadCount", unreadCount)));
+        } else {
+            missed.forEach(stream::send);
+        }
+        return emitter;
+    }
+
+    // Push one saved notification once its transaction commits
+    public void publish(Notification notification) {
+        if (notification.getUser() == null || notification.getId() == null) {
+            return;
+        }
+        Long userId = notification.getUser().getId();
+        Map<String, Object> payload = payload(notification.getId(), notification.getTitle(), notification.getMessage(),
+            notification.getType(), notification.getStatus(), notification.getCreatedAt(), notification.getLastActivityAt(),
+            notification.getRelatedFormId(), notification.getActionUrl(),
+            notification.getDigestCount(), notification.getRelatedFormIds());
+        Long id = notification.getId();
+        String eventId = eventId(id, notification.getCreatedAt(), notification.getLastActivityAt());
+        AfterCommit.run(() -> sender.execute(() -> deliver(userId, id, eventId, payload)));
+    }
+
+    // Push notifications created since 'since' for those of the users that are
+    // connected; used after batch inserts, which do not return generated ids
+    public void publishRecent(Collection<Long> userIds, LocalDateTime since) {
+        Set<Long> ids = new HashSet<>(userIds);
+        AfterCommit.run(() -> sender.execute(() -> pushRecent(connected(ids::contains), since)));
+    }
+
+    // As above, for every connected user with a role
+    public void publishRecent(User.Role role, LocalDateTime since) {
+        AfterCommit.run(() -> sender.execute(() -> pushRecent(connectedWithRole(role), since)));
+    }
+
+    // Number of open streams on this node
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Stream> userStreams : streams.values()) {
+            for (Stream stream : userStreams) {
+                sender.execute(() -> stream.send(SseEmitter.event().comment("heartbeat")));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> stream.emitter.complete()));
+    }
+
+    // Rows after a Last-Event-ID position, or null when the client has to reload:
+    // the id is not one of ours, or more rows were missed than replay-limit. Looks
+    // one second further back, like pushRecent; the client skips rows it already has.
+    private List<NotificationRepository.NotificationView> replay(Long userId, String lastEventId) {
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(lastEventId.trim());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        List<NotificationRepository.NotificationView> missed = notificationRepository.findViewsActiveAfter(
+            userId, after.getTimestamp().minusSeconds(1), 0L, PageRequest.of(0, replayLimit + 1));
+        return missed.size() > replayLimit ? null : missed;
+    }
+
+    // Looks one second further back than asked, since the database may round the
+    // stored timestamps; anything already sent on a stream is skipped there
+    private void pushRecent(List<Long> userIds, LocalDateTime since) {
+        LocalDateTime from = since.minusSeconds(1);
+        for (int start = 0; start < userIds.size(); start += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = userIds.subList(start, Math.min(start + MAX_IDS_PER_QUERY, userIds.size()));
+            for (NotificationRepository.NotificationView view : notificationRepository.findViewsCreatedSince(chunk, from)) {
+                deliver(view.getUserId(), view.getId(), eventId(view), payload(view));
+            }
+        }
+    }
+
+    private void deliver(Long userId, Long notificationId, String eventId, Map<String, Object> payload) {
+        Set<Stream> userStreams = streams.get(userId);
+        if (userStreams != null) {
+            userStreams.forEach(stream -> stream.send(notificationId, eventId, payload));
+        }
+    }
+
+    private List<Long> connected(Predicate<Long> filter) {
+        return streams.keySet().stream().filter(filter).toList();
+    }
+
+    private List<Long> connectedWithRole(User.Role role) {
+        List<Long> userIds = new ArrayList<>();
+        streams.forEach((userId, userStreams) -> {
+            if (userStreams.stream().anyMatch(stream -> stream.role == role)) {
+                userIds.add(userId);
+            }
+        });
+        return userIds;
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            if (userStreams.remove(stream)) {
+                connections.decrementAndGet();
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private static String eventId(NotificationRepository.NotificationView view) {
+        return eventId(view.getId(), view.getCreatedAt(), view.getLastActivityAt());
+    }
+
+    // Rows written before lastActivityAt was always set fall back to createdAt
+    private static String eventId(Long id, LocalDateTime createdAt, LocalDateTime lastActivityAt) {
+        return new KeysetCursor(lastActivityAt != null ? lastActivityAt : createdAt, id).encode();
+    }
+
+    private static Map<String, Object> payload(NotificationRepository.NotificationView view) {
+        return payload(view.getId(), view.getTitle(), view.getMessage(), view.getType(), view.getStatus(),
+            view.getCreatedAt(), view.getLastActivityAt(), view.getRelatedFormId(), view.getActionUrl(),
+            view.getDigestCount(), view.getRelatedFormIds());
+    }
+
+    private static Map<String, Object> payload(Long id, String title, String message, String type,
+                                               Notification.NotificationStatus status, LocalDateTime createdAt,
+                                               LocalDateTime lastActivityAt,
+                                               String relatedFormId, String actionUrl,
+                                               Integer digestCount, String relatedFormIds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", id);
+        payload.put("title", title);
+        payload.put("message", message);
+        payload.put("type", type);
+        payload.put("status", status);
+        payload.put("createdAt", createdAt);
+        payload.put("lastActivityAt", lastActivityAt);
+        payload.put("relatedFormId", relatedFormId);
+        payload.put("actionUrl", actionUrl);
+        payload.put("digestCount", digestCount != null ? digestCount : 1);
+        payload.put("relatedFormIds", relatedFormIds);
+        return payload;
+    }
+
+    // One open connection. Remembers the ids it recently sent so a notification that
+    // arrives by both the replay and a live push is delivered once. A digest is keyed
+    // by id and count, so each notification folded into it is pushed again.
+    private final class Stream {
+        private final Long userId;
+        private final User.Role role;
+        private final SseEmitter emitter;
+        private final Set<String> recentIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > RECENT_IDS_PER_STREAM;
+            }
+        });
+
+        private Stream(Long userId, User.Role role, SseEmitter emitter) {
+            this.userId = userId;
+            this.role = role;
+            this.emitter = emitter;
+        }
+
+        private void send(NotificationRepository.NotificationView view) {
+            send(view.getId(), eventId(view), payload(view));
+        }
+
+        private void send(Long notificationId, String eventId, Map<String, Object> payload) {
+            synchronized (this) {
+                if (!recentIds.add(notificationId + ":" + payload.get("digestCount"))) {
+                    return;
+                }
+            }
+            send(SseEmitter.event().id(eventId).name("notification")
+                .data(payload, MediaType.APPLICATION_JSON));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; completing fires onCompletion, which removes the stream
+                remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
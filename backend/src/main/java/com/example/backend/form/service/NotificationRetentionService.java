@@ -0,0 +1,398 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+// Deletes expired notifications in bounded chunks instead of one unbounded DELETE.
+// Each chunk is read oldest first through idx_notifications_created, continuing after
+// the last (created_at, id) of the previous chunk so rows kept by a longer policy are
+// passed over once per run rather than once per chunk. It is appended to the
+// run's gzip archive as a complete gzip member and synced to disk, and only then
+// deleted by id in its own short statement. A pause between chunks leaves room for
+// live traffic, and a run stops at its time budget and continues next time.
+//
+// Retention is per type (app.notifications.retention.type-days, e.g.
+// "approval=180,system=14") with a default for every other type; zero or less keeps
+// that type forever. Runs happen on a schedule, on their own thread.
+@Service
+public class NotificationRetentionService {
+
+    private static final String COLUMNS =
+        "id, user_id, title, message, type, status, created_at, read_at, related_form_id, action_url, " +
+        "digest_window, last_activity_at, digest_count, related_form_ids";
+    private static final DateTimeFormatter ARCHIVE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Value("${app.notifications.retention.default-days:30}")
+    private int defaultDays;
+
+    @Value("${app.notifications.retention.type-days:}")
+    private String typeDays;
+
+    @Value("${app.notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.notifications.retention.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.notifications.retention.max-run-minutes:60}")
+    private long maxRunMinutes;
+
+    @Value("${app.notifications.retention.archive-dir:notification-archive}")
+    private String archiveDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Map<String, Integer> policies;
+    private volatile RetentionStatus status = RetentionStatus.idle();
+
+    @PostConstruct
+    public void init() {
+        policies = parsePolicies(typeDays);
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        start();
+    }
+
+    // Start a run in the background; false if one is already running
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    // Run on the calling thread and return the result
+    public RetentionStatus runNow() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Notification retention is already running");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public RetentionStatus getStatus() {
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // One full pass over every policy
+    private RetentionStatus run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + Duration.ofMinutes(maxRunMinutes).toNanos();
+        Path archive = Paths.get(archiveDir).resolve("notifications-" + ARCHIVE_STAMP.format(startedAt) + ".jsonl.gz");
+        Progress progress = new Progress(startedAt, startNanos, archive);
+        status = progress.snapshot(true, null, null);
+
+        String error = null;
+        try {
+            for (Map.Entry<String, Integer> policy : policies.entrySet()) {
+                if (!purge(policy.getKey(), policy.getValue(), progress, deadline)) {
+                    break;
+                }
+            }
+            if (System.nanoTime() < deadline) {
+                purge(null, defaultDays, progress, deadline);
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage();
+            System.err.println("Notification retention stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        }
+
+        status = progress.snapshot(false, null, error);
+        if (progress.deleted > 0) {
+            System.out.println("Notification retention archived " + progress.archived + " and deleted "
+                + progress.deleted + " notifications in " + progress.chunks + " chunks ("
+                + status.getRowsPerSecond() + " rows/s) to " + archive);
+        }
+        return status;
+    }
+
+    // Purge one type (null: every type without its own policy); false once out of time
+    private boolean purge(String type, int days, Progress progress, long deadline)
+            throws IOException, InterruptedException {
+        if (days <= 0) {
+            return true;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        ExpiredNotification last = null;
+        while (true) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            List<ExpiredNotification> rows = selectChunk(type, cutoff, last);
+            if (rows.isEmpty()) {
+                return true;
+            }
+            appendToArchive(progress.archive, rows);
+            int deleted = deleteChunk(rows, cutoff);
+            progress.chunk(rows.size(), deleted);
+            status = progress.snapshot(true, type != null ? type : "(default)", null);
+            if (rows.size() < chunkSize) {
+                return true;
+            }
+            last = rows.get(rows.size() - 1);
+            Thread.sleep(pauseMs);
+        }
+    }
+
+    // Next chunk after the given row (null: from the oldest)
+    private List<ExpiredNotification> selectChunk(String type, LocalDateTime cutoff, ExpiredNotification after) {
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(cutoff));
+        String seekCondition = "";
+        if (after != null) {
+            seekCondition = " AND (created_at > ? OR (created_at = ? AND id > ?))";
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+        String typeCondition;
+        if (type != null) {
+            typeCondition = "type = ?";
+            args.add(type);
+        } else if (policies.isEmpty()) {
+            typeCondition = "1 = 1";
+        } else {
+            typeCondition = "(type IS NULL OR type NOT IN (" + String.join(", ", Collections.nCopies(policies.size(), "?")) + "))";
+            args.addAll(policies.keySet());
+        }
+        args.add(chunkSize);
+        String sql = "SELECT " + COLUMNS + " FROM notifications WHERE created_at < ?" + seekCondition + " AND " + typeCondition
+            + " ORDER BY created_at, id LIMIT ?";
+        return jdbcTemplate.query(sql, NotificationRetentionService::mapRow, args.toArray());
+    }
+
+    // Each chunk is a complete gzip member, so a run cut short leaves a readable file
+    private void appendToArchive(Path archive, List<ExpiredNotification> rows) throws IOException {
+        if (archive.getParent() != null) {
+            Files.createDirectories(archive.getParent());
+        }
+        try (FileOutputStream out = new FileOutputStream(archive.toFile(), true)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            for (ExpiredNotification row : rows) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            writer.flush();
+            gzip.finish();
+            out.getFD().sync();
+        }
+    }
+
+    // The cutoff is checked again in case a row was touched since it was read
+    private int deleteChunk(List<ExpiredNotification> rows, LocalDateTime cutoff) {
+        List<Object> args = new ArrayList<>(rows.size() + 1);
+        Set<Long> userIds = new HashSet<>();
+        for (ExpiredNotification row : rows) {
+            args.add(row.id());
+            if (row.userId() != null) {
+                userIds.add(row.userId());
+            }
+        }
+        args.add(Timestamp.valueOf(cutoff));
+        String sql = "DELETE FROM notifications WHERE id IN (" + String.join(", ", Collections.nCopies(rows.size(), "?"))
+            + ") AND created_at < ?";
+        int deleted = jdbcTemplate.update(sql, args.toArray());
+        // Committed already; cached counts of these users reload on next read
+        userIds.forEach(notificationCounterCache::evict);
+        return deleted;
+    }
+
+    static Map<String, Integer> parsePolicies(String spec) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid notification retention policy: " + entry.trim());
+            }
+            try {
+                result.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid notification retention policy: " + entry.trim());
+            }
+        }
+        return result;
+    }
+
+    private static ExpiredNotification mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp readAt = rs.getTimestamp("read_at");
+        Timestamp digestWindow = rs.getTimestamp("digest_window");
+        Timestamp lastActivityAt = rs.getTimestamp("last_activity_at");
+        String status = rs.getString("status");
+        return new ExpiredNotification(
+            rs.getLong("id"),
+            rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
+            rs.getString("title"),
+            rs.getString("message"),
+            rs.getString("type"),
+            status != null ? Notification.NotificationStatus.valueOf(status) : null,
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            readAt != null ? readAt.toLocalDateTime() : null,
+            rs.getString("related_form_id"),
+            rs.getString("action_url"),
+            digestWindow != null ? digestWindow.toLocalDateTime() : null,
+            lastActivityAt != null ? lastActivityAt.toLocalDateTime() : null,
+            rs.getObject("digest_count") != null ? rs.getInt("digest_count") : null,
+            rs.getString("related_form_ids"));
+    }
+
+    // One archived notifications row
+    public record ExpiredNotification(Long id, Long userId, String title, String message, String type,
+                                      Notification.NotificationStatus status, LocalDateTime createdAt,
+                                      LocalDateTime readAt, String relatedFormId, String actionUrl,
+                                      LocalDateTime digestWindow, LocalDateTime lastActivityAt, Integer digestCount,
+                                      String relatedFormIds) {}
+
+    private static final class Progress {
+        private final LocalDateTime startedAt;
+        private final long startNanos;
+        private final Path archive;
+        private long chunks;
+        private long archived;
+        private long deleted;
+
+        private Progress(LocalDateTime startedAt, long startNanos, Path archive) {
+            this.startedAt = startedAt;
+            this.startNanos = startNanos;
+            this.archive = archive;
+        }
+
+        private void chunk(int archivedRows, int deletedRows) {
+            chunks++;
+            archived += archivedRows;
+            deleted += deletedRows;
+        }
+
+        private RetentionStatus snapshot(boolean running, String currentPolicy, String error) {
+            double seconds = Math.max(1, System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return new RetentionStatus(running, startedAt, running ? null : LocalDateTime.now(), currentPolicy,
+                chunks, archived, deleted, Math.round(deleted / seconds), archive.toString(), error);
+        }
+    }
+
+    // Progress of the current run, or the result of the last one
+    public static class RetentionStatus {
+        private final boolean running;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime finishedAt;
+        private final String currentPolicy;
+        private final long chunks;
+        private final long archived;
+        private final long deleted;
+        private final long rowsPerSecond;
+        private final String archiveFile;
+        private final String error;
+
+        public RetentionStatus(boolean running, LocalDateTime startedAt, LocalDateTime finishedAt, String currentPolicy,
+                               long chunks, long archived, long deleted, long rowsPerSecond, String archiveFile,
+                               String error) {
+            this.running = running;
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.currentPolicy = currentPolicy;
+            this.chunks = chunks;
+            this.archived = archived;
+            this.deleted = deleted;
+            this.rowsPerSecond = rowsPerSecond;
+            this.archiveFile = archiveFile;
+            this.error = error;
+        }
+
+        static RetentionStatus idle() {
+            return new RetentionStatus(false, null, null, null, 0, 0, 0, 0, null, null);
+        }
+
+        public boolean isRunning() { return running; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public String getCurrentPolicy() { return currentPolicy; }
+        public long getChunks() { return chunks; }
+        public long getArchived() { return archived; }
+        public long getDeleted() { return deleted; }
+        public long getRowsPerSecond() { return rowsPerSecond; }
+        public String getArchiveFile() { return archiveFile; }
+        public String getError() { return error; }
+    }
+}
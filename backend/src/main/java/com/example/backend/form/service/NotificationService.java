@@ -1,12 +1,23 @@
 package com.example.backend.form.service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.form.model.CursorPage;
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.NotificationSummary;
 import com.example.backend.form.repository.NotificationRepository;
 import com.example.backend.form.repository.UserRepository;
 import com.example.backend.form.model.Notification;
@@ -21,13 +32,99 @@ public class NotificationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NotificationPushService notificationPushService;
+    
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+    
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+    
+    @Autowired
+    private NotificationDigester notificationDigester;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // Role digests of one window are read and written under this lock, so concurrent
+    // fan-outs cannot both open a digest for the same approver
+    private final Object roleDigestLock = new Object();
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (user_id, title, message, type, status, created_at, related_form_id, action_url, " +
+        "digest_window, last_activity_at, digest_count, related_form_ids) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
     // Create a new notification
+    @Transactional
     public Notification createNotification(User user, String title, String message, String type) {
         Notification notification = new Notification(user, title, message, type);
-        return notificationRepository.save(notification);
+        return save(notification);
+    }
+    
+    // Insert many notifications with one JDBC batch; IDENTITY keys stop Hibernate from batching saveAll.
+    // Digest types are folded into their recipients' digests first.
+    @Transactional
+    public void createNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(notifications.size());
+        LocalDateTime since = notifications.get(0).getCreatedAt();
+        for (Notification n : notifications) {
+            userIds.add(n.getUser().getId());
+            if (n.getCreatedAt().isBefore(since)) {
+                since = n.getCreatedAt();
+            }
+        }
+        
+        List<Notification> toInsert = notificationDigester.addAll(notifications);
+        List<Object[]> rows = new ArrayList<>(toInsert.size());
+        for (Notification n : toInsert) {
+            rows.add(new Object[] {
+                n.getUser().getId(), n.getTitle(), n.getMessage(), n.getType(), n.getStatus().name(),
+                Timestamp.valueOf(n.getCreatedAt()), n.getRelatedFormId(), n.getActionUrl(),
+                n.getDigestWindow() != null ? Timestamp.valueOf(n.getDigestWindow()) : null,
+                Timestamp.valueOf(n.getLastActivityAt() != null ? n.getLastActivityAt() : n.getCreatedAt()),
+                n.getDigestWindow() != null ? n.getDigestCount() : null, n.getRelatedFormIds()
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        for (Notification n : toInsert) {
+            notificationCounterCache.changed(n.getUser().getId(), null, n.getStatus());
+        }
+        notificationPushService.publishRecent(userIds, since);
+    }
+    
+    // Notify every user with a role in one statement, or fold the notification into
+    // their digests. Runs on the async executor after the caller's transaction, so
+    // fan-out cost is not paid on the request thread.
+    @Async
+    public void createRoleNotifications(User.Role role, String title, String message, String type, String relatedFormId) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        if (notificationDigester.windowOf(type, createdAt) != null) {
+            synchronized (roleDigestLock) {
+                transactionTemplate.executeWithoutResult(status ->
+                    notificationDigester.addForRole(role, title, message, type, relatedFormId, createdAt));
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationRepository.insertForRole(role, title, message, type, relatedFormId, createdAt);
+                notificationCounterCache.createdForRole(role);
+            });
+        }
+        notificationPushService.publishRecent(role, createdAt);
     }
     
     // Create a form status notification
+    @Transactional
     public Notification createFormStatusNotification(User user, String formType, String formId, String status, String message) {
         String title = "Form Status Update";
         String fullMessage = String.format("Your %s (ID: %s) has been %s. %s", formType, formId, status, message);
@@ -36,10 +133,11 @@ public class NotificationService {
         notification.setRelatedFormId(formId);
         notification.setActionUrl("/student/forms/" + formId);
         
-        return notificationRepository.save(notification);
+        return save(notification);
     }
     
     // Create an approval notification
+    @Transactional
     public Notification createApprovalNotification(User user, String formType, String formId, String approverName) {
         String title = "Form Approved!";
         String message = String.format("Your %s (ID: %s) has been approved by %s.", formType, formId, approverName);
@@ -48,10 +146,11 @@ public class NotificationService {
         notification.setRelatedFormId(formId);
         notification.setActionUrl("/student/forms/" + formId);
         
-        return notificationRepository.save(notification);
+        return save(notification);
     }
     
     // Create a rejection notification
+    @Transactional
     public Notification createRejectionNotification(User user, String formType, String formId, String approverName, String reason) {
         String title = "Form Update Required";
         String message = String.format("Your %s (ID: %s) requires attention. %s", formType, formId, reason);
@@ -60,10 +159,11 @@ public class NotificationService {
         notification.setRelatedFormId(formId);
         notification.setActionUrl("/student/forms/" + formId);
         
-        return notificationRepository.save(notification);
+        return save(notification);
     }
     
     // Create a system notification
+    @Transactional
     public Notification createSystemNotification(User user, String title, String message) {
         return createNotification(user, title, message, "system");
     }
@@ -73,6 +173,38 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user);
     }
     
+    // One page of a user's notifications, newest first; status and type are optional
+    // filters. Pass nextCursor back for the next page.
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationSummary> getNotificationPage(User user, String status, String type,
+                                                               String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Notification.NotificationStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = Notification.NotificationStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid notification status: " + status);
+            }
+        }
+        String typeFilter = type != null && !type.isBlank() ? type : null;
+        
+        List<NotificationSummary> rows = notificationRepository.findSummaries(
+            user.getId(), statusFilter, typeFilter, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, last -> new KeysetCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    // The push stream resumes by lastActivityAt, so older rows need it too
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillLastActivity() {
+        int updated = notificationRepository.backfillLastActivity();
+        if (updated > 0) {
+            System.out.println("Set last activity time on " + updated + " notifications");
+        }
+    }
+
     // Get unread notifications for a user
     public List<Notification> getUnreadNotifications(User user) {
         return notificationRepository.findByUserAndStatusOrderByCreatedAtDesc(user, Notification.NotificationStatus.UNREAD);
@@ -83,41 +215,41 @@ public class NotificationService {
         return notificationRepository.findByUserAndTypeOrderByCreatedAtDesc(user, type);
     }
     
-    // Count unread notifications for a user
+    // Count unread notifications for a user, from the counter cache
     public long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndStatus(user, Notification.NotificationStatus.UNREAD);
+        return notificationCounterCache.get(user).getUnread();
     }
     
     // Mark a notification as read
+    @Transactional
     public Notification markAsRead(Long notificationId) {
-        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
-        if (notificationOpt.isPresent()) {
-            Notification notification = notificationOpt.get();
-            notification.markAsRead();
-            return notificationRepository.save(notification);
-        }
-        return null;
+        return changeStatus(notificationId, Notification.NotificationStatus.READ);
     }
     
     // Mark all notifications as read for a user
+    @Transactional
     public void markAllAsRead(User user) {
-        notificationRepository.markAllAsRead(user);
+        int updated = notificationRepository.markAllAsRead(user);
+        notificationCounterCache.changed(user.getId(), Notification.NotificationStatus.UNREAD,
+            Notification.NotificationStatus.READ, updated);
     }
     
     // Mark a notification as archived
+    @Transactional
     public Notification markAsArchived(Long notificationId) {
-        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
-        if (notificationOpt.isPresent()) {
-            Notification notification = notificationOpt.get();
-            notification.markAsArchived();
-            return notificationRepository.save(notification);
-        }
-        return null;
+        return changeStatus(notificationId, Notification.NotificationStatus.ARCHIVED);
     }
     
     // Delete a notification
+    @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            Long userId = notification.getUser().getId();
+            Notification.NotificationStatus status = notification.getStatus();
+            if (notificationRepository.deleteIf(notificationId, status) == 1) {
+                notificationCounterCache.changed(userId, status, null);
+            }
+        });
     }
     
     // Get notifications related to a specific form
@@ -125,20 +257,50 @@ public class NotificationService {
         return notificationRepository.findByUserAndRelatedFormIdOrderByCreatedAtDesc(user, formId);
     }
     
-    // Clean up old notifications (older than 30 days)
-    public void cleanupOldNotifications() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-        notificationRepository.deleteOldNotifications(cutoffDate);
+    // Archive and delete expired notifications in the background (see NotificationRetentionService);
+    // false if a run is already in progress
+    public boolean cleanupOldNotifications() {
+        return notificationRetentionService.start();
+    }
+    
+    // Save (or fold into a digest), count and push to the user's open streams once committed
+    private Notification save(Notification notification) {
+        Notification saved = notificationDigester.add(notification);
+        if (saved == null) {
+            saved = notificationRepository.save(notification);
+            notificationCounterCache.changed(saved.getUser().getId(), null, saved.getStatus());
+        }
+        notificationPushService.publish(saved);
+        return saved;
     }
     
-    // Get notification statistics for a user
+    // Change a notification's status with a conditional update, so of two concurrent
+    // changes of the same notification only the one that hit the row is counted
+    private Notification changeStatus(Long notificationId, Notification.NotificationStatus to) {
+        Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
+        if (notificationOpt.isEmpty()) {
+            return null;
+        }
+        Notification notification = notificationOpt.get();
+        Notification.NotificationStatus from = notification.getStatus();
+        if (from == to) {
+            return notification;
+        }
+        Long userId = notification.getUser().getId();
+        int updated = to == Notification.NotificationStatus.READ
+            ? notificationRepository.markAsReadIf(notificationId, from, LocalDateTime.now())
+            : notificationRepository.changeStatusIf(notificationId, from, to);
+        if (updated == 1) {
+            notificationCounterCache.changed(userId, from, to);
+        }
+        return notificationRepository.findById(notificationId).orElse(null);
+    }
+    
+    // Get notification statistics for a user, from the counter cache
     public NotificationStats getNotificationStats(User user) {
-        long total = notificationRepository.countByUserAndStatus(user, Notification.NotificationStatus.UNREAD) +
-                    notificationRepository.countByUserAndStatus(user, Notification.NotificationStatus.READ);
-        long unread = notificationRepository.countByUserAndStatus(user, Notification.NotificationStatus.UNREAD);
-        long read = notificationRepository.countByUserAndStatus(user, Notification.NotificationStatus.READ);
-        
-        return new NotificationStats(total, unread, read);
+        NotificationCounterCache.Counts counts = notificationCounterCache.get(user);
+        return new NotificationStats(counts.getUnread() + counts.getRead(), counts.getUnread(), counts.getRead(),
+            counts.getArchived());
     }
     
     // Inner class for notification statistics
@@ -146,15 +308,18 @@ public class NotificationService {
         private final long total;
         private final long unread;
         private final long read;
+        private final long archived;
         
-        public NotificationStats(long total, long unread, long read) {
+        public NotificationStats(long total, long unread, long read, long archived) {
             this.total = total;
             this.unread = unread;
             this.read = read;
+            this.archived = archived;
         }
         
         public long getTotal() { return total; }
         public long getUnread() { return unread; }
         public long getRead() { return read; }
+        public long getArchived() { return archived; }
     }
 } 
\ No newline at end of file
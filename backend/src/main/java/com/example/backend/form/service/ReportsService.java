@@ -1,15 +1,15 @@
 package com.example.backend.form.service;
 
-import com.example.backend.form.model.Form;
 import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormReportRepository;
 import com.example.backend.form.repository.FormRepository;
 import com.example.backend.form.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,6 +19,9 @@ public class ReportsService {
     @Autowired
     private FormRepository formRepository;
 
+    @Autowired
+    private FormReportRepository formReportRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,21 +31,24 @@ public class ReportsService {
     @Autowired
     private FileUploadService fileUploadService;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
     // Get overall system statistics
     public Map<String, Object> getSystemStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
         // Form statistics
-        long totalForms = formRepository.count();
-        long pendingForms = formRepository.countByStatus("PENDING");
-        long approvedForms = formRepository.countByStatus("APPROVED");
-        long rejectedForms = formRepository.countByStatus("REJECTED");
+        long totalForms = statisticsService.getFormTotal();
+        long pendingForms = statisticsService.getFormCount("PENDING");
+        long approvedForms = statisticsService.getFormCount("APPROVED");
+        long rejectedForms = statisticsService.getFormCount("REJECTED");
         
         // User statistics
-        long totalUsers = userRepository.count();
-        long studentUsers = userRepository.countByRole("STUDENT");
-        long approverUsers = userRepository.countByRole("APPROVER");
-        long adminUsers = userRepository.countByRole("ADMIN");
+        long totalUsers = statisticsService.getUserTotal();
+        long studentUsers = statisticsService.getUserCount(User.Role.Student);
+        long approverUsers = statisticsService.getUserCount(User.Role.Approver);
+        long adminUsers = statisticsService.getUserCount(User.Role.Admin);
         
         // File statistics
         FileUploadService.FileStatistics fileStats = fileUploadService.getFileStatistics();
@@ -67,7 +73,8 @@ public class ReportsService {
         
         stats.put("files", Map.of(
             "totalFiles", fileStats.getFileCount(),
-            "totalSize", fileStats.getTotalSizeFormatted()
+            "totalSize", fileStats.getTotalSizeFormatted(),
+            "byType", fileUploadService.getFileStatisticsByType()
         ));
         
         stats.put("audit", auditStats);
@@ -77,16 +84,15 @@ public class ReportsService {
 
     // Get form statistics by type
     public Map<String, Object> getFormStatisticsByType() {
-        List<Form> allForms = formRepository.findAll();
-        
-        Map<String, Long> formTypeCounts = allForms.stream()
-            .collect(Collectors.groupingBy(Form::getType, Collectors.counting()));
-        
-        Map<String, Map<String, Long>> formTypeStatusCounts = allForms.stream()
-            .collect(Collectors.groupingBy(
-                Form::getType,
-                Collectors.groupingBy(Form::getStatus, Collectors.counting())
-            ));
+        List<FormReportRepository.TypeStatusCount> rows = formReportRepository.countByTypeAndStatus();
+        
+        Map<String, Long> formTypeCounts = new HashMap<>();
+        Map<String, Map<String, Long>> formTypeStatusCounts = new HashMap<>();
+        for (FormReportRepository.TypeStatusCount row : rows) {
+            formTypeCounts.merge(row.getType(), row.getTotal(), Long::sum);
+            formTypeStatusCounts.computeIfAbsent(row.getType(), type -> new HashMap<>())
+                .merge(row.getStatus(), row.getTotal(), Long::sum);
+        }
         
         return Map.of(
             "typeCounts", formTypeCounts,
@@ -99,53 +105,46 @@ public class ReportsService {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
         
-        List<Form> formsInRange = formRepository.findBySubmittedDateBetween(startDateTime, endDateTime);
-        
         // Group by date
-        Map<String, Long> dailySubmissions = formsInRange.stream()
-            .collect(Collectors.groupingBy(
-                form -> form.getSubmittedDate().toLocalDate().toString(),
-                Collectors.counting()
-            ));
-        
-        // Group by status
-        Map<String, Long> statusCounts = formsInRange.stream()
-            .collect(Collectors.groupingBy(Form::getStatus, Collectors.counting()));
+        Map<String, Long> dailySubmissions = new HashMap<>();
+        for (FormReportRepository.DailyCount row : formReportRepository.countDailySubmissionsBetween(startDateTime, endDateTime)) {
+            dailySubmissions.put(row.getDay().toString(), row.getTotal());
+        }
         
-        // Group by type
-        Map<String, Long> typeCounts = formsInRange.stream()
-            .collect(Collectors.groupingBy(Form::getType, Collectors.counting()));
+        // Group by status and by type
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, Long> typeCounts = new HashMap<>();
+        long totalForms = 0;
+        for (FormReportRepository.TypeStatusCount row : formReportRepository.countByTypeAndStatusSubmittedBetween(startDateTime, endDateTime)) {
+            statusCounts.merge(row.getStatus(), row.getTotal(), Long::sum);
+            typeCounts.merge(row.getType(), row.getTotal(), Long::sum);
+            totalForms += row.getTotal();
+        }
         
         return Map.of(
             "dailySubmissions", dailySubmissions,
             "statusCounts", statusCounts,
             "typeCounts", typeCounts,
-            "totalForms", formsInRange.size()
+            "totalForms", totalForms
         );
     }
 
     // Get user activity statistics
     public Map<String, Object> getUserActivityStatistics() {
-        List<User> allUsers = userRepository.findAll();
-        
         Map<String, Object> activityStats = new HashMap<>();
         
         // Forms submitted by each user
-        Map<String, Long> userFormCounts = allUsers.stream()
-            .collect(Collectors.toMap(
-                User::getEmail,
-                user -> formRepository.countByStudent(user)
-            ));
+        Map<String, Long> userFormCounts = new HashMap<>();
+        for (FormReportRepository.StudentCount row : formReportRepository.countFormsPerUser()) {
+            userFormCounts.put(row.getEmail(), row.getTotal());
+        }
         
         // Recent activity (last 30 days)
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<Form> recentForms = formRepository.findBySubmittedDateAfter(thirtyDaysAgo);
-        
-        Map<String, Long> recentUserActivity = recentForms.stream()
-            .collect(Collectors.groupingBy(
-                form -> form.getStudent().getEmail(),
-                Collectors.counting()
-            ));
+        Map<String, Long> recentUserActivity = new HashMap<>();
+        for (FormReportRepository.StudentCount row : formReportRepository.countFormsPerStudentSince(thirtyDaysAgo)) {
+            recentUserActivity.put(row.getEmail(), row.getTotal());
+        }
         
         activityStats.put("userFormCounts", userFormCounts);
         activityStats.put("recentActivity", recentUserActivity);
@@ -156,48 +155,37 @@ public class ReportsService {
 
     // Get approval performance statistics
     public Map<String, Object> getApprovalPerformanceStatistics() {
-        List<Form> approvedForms = formRepository.findByStatus("APPROVED");
-        List<Form> rejectedForms = formRepository.findByStatus("REJECTED");
-        
-        // Average approval time
-        double avgApprovalTime = approvedForms.stream()
-            .filter(form -> form.getApprovedDate() != null)
-            .mapToLong(form -> 
-                java.time.Duration.between(form.getSubmittedDate(), form.getApprovedDate()).toHours()
-            )
-            .average()
-            .orElse(0.0);
-        
-        // Approval time distribution
-        Map<String, Long> approvalTimeDistribution = approvedForms.stream()
-            .filter(form -> form.getApprovedDate() != null)
-            .collect(Collectors.groupingBy(
-                form -> {
-                    long hours = java.time.Duration.between(form.getSubmittedDate(), form.getApprovedDate()).toHours();
-                    if (hours < 24) return "Within 24 hours";
-                    else if (hours < 72) return "1-3 days";
-                    else if (hours < 168) return "3-7 days";
-                    else return "Over 7 days";
-                },
-                Collectors.counting()
-            ));
+        // Approval time distribution and average, bucketed in the database
+        Map<String, Long> approvalTimeDistribution = new HashMap<>();
+        long timedApprovals = 0;
+        long totalHours = 0;
+        for (FormReportRepository.ApprovalTimeBucket row : formReportRepository.countApprovalTimeBuckets()) {
+            approvalTimeDistribution.put(row.getBucket(), row.getTotal());
+            timedApprovals += row.getTotal();
+            totalHours += row.getTotalHours();
+        }
+        double avgApprovalTime = timedApprovals > 0 ? (double) totalHours / timedApprovals : 0.0;
         
         // Approver performance
+        Map<Long, long[]> decisionsByApprover = new HashMap<>();
+        for (FormReportRepository.ApproverStatusCount row : formReportRepository.countByApproverAndStatus()) {
+            long[] decisions = decisionsByApprover.computeIfAbsent(row.getApproverId(), id -> new long[2]);
+            if ("APPROVED".equalsIgnoreCase(row.getStatus())) {
+                decisions[0] += row.getTotal();
+            } else if ("REJECTED".equalsIgnoreCase(row.getStatus())) {
+                decisions[1] += row.getTotal();
+            }
+        }
+        
         Map<String, Map<String, Long>> approverStats = new HashMap<>();
-        List<User> approvers = userRepository.findByRole("APPROVER");
+        List<User> approvers = userRepository.findByRole(User.Role.Approver);
         
         for (User approver : approvers) {
-            long approved = approvedForms.stream()
-                .filter(form -> approver.equals(form.getApprovedBy()))
-                .count();
-            long rejected = rejectedForms.stream()
-                .filter(form -> approver.equals(form.getApprovedBy()))
-                .count();
-            
+            long[] decisions = decisionsByApprover.getOrDefault(approver.getId(), new long[2]);
             approverStats.put(approver.getEmail(), Map.of(
-                "approved", approved,
-                "rejected", rejected,
-                "total", approved + rejected
+                "approved", decisions[0],
+                "rejected", decisions[1],
+                "total", decisions[0] + decisions[1]
             ));
         }
         
@@ -211,28 +199,15 @@ public class ReportsService {
     // Get monthly trends
     public Map<String, Object> getMonthlyTrends() {
         LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
-        List<Form> recentForms = formRepository.findBySubmittedDateAfter(sixMonthsAgo);
-        
-        // Group by month
-        Map<String, Long> monthlySubmissions = recentForms.stream()
-            .collect(Collectors.groupingBy(
-                form -> form.getSubmittedDate().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                Collectors.counting()
-            ));
         
-        // Monthly approval rates
-        Map<String, Double> monthlyApprovalRates = recentForms.stream()
-            .collect(Collectors.groupingBy(
-                form -> form.getSubmittedDate().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                Collectors.collectingAndThen(
-                    Collectors.partitioningBy(form -> "APPROVED".equals(form.getStatus())),
-                    map -> {
-                        long approved = map.get(true).size();
-                        long total = map.get(true).size() + map.get(false).size();
-                        return total > 0 ? (double) approved / total * 100 : 0.0;
-                    }
-                )
-            ));
+        // Group by month, with approval rates
+        Map<String, Long> monthlySubmissions = new HashMap<>();
+        Map<String, Double> monthlyApprovalRates = new HashMap<>();
+        for (FormReportRepository.MonthlyCount row : formReportRepository.countMonthlySubmissionsSince(sixMonthsAgo)) {
+            String month = String.format("%04d-%02d", row.getYear(), row.getMonth());
+            monthlySubmissions.put(month, row.getTotal());
+            monthlyApprovalRates.put(month, row.getTotal() > 0 ? (double) row.getApproved() / row.getTotal() * 100 : 0.0);
+        }
         
         return Map.of(
             "monthlySubmissions", monthlySubmissions,
@@ -240,24 +215,27 @@ public class ReportsService {
         );
     }
 
-    // Get most active users
+    // Get most active users; only the top rows are loaded as users
     private List<Map<String, Object>> getMostActiveUsers(int limit) {
-        List<User> allUsers = userRepository.findAll();
-        
-        return allUsers.stream()
-            .map(user -> {
-                long formCount = formRepository.countByStudent(user);
-                Map<String, Object> userMap = new HashMap<>();
-                userMap.put("email", user.getEmail());
-                userMap.put("name", user.getUsername());
-                userMap.put("role", user.getRole());
-                userMap.put("formCount", formCount);
-                return userMap;
-            })
-            .filter(user -> (Long) user.get("formCount") > 0)
-            .sorted((a, b) -> Long.compare((Long) b.get("formCount"), (Long) a.get("formCount")))
-            .limit(limit)
-            .collect(Collectors.toList());
+        List<FormReportRepository.StudentCount> topStudents =
+            formReportRepository.findTopStudentsByFormCount(PageRequest.of(0, limit));
+        
+        Map<Long, User> usersById = userRepository.findAllById(
+                topStudents.stream().map(FormReportRepository.StudentCount::getStudentId).collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+        
+        List<Map<String, Object>> mostActiveUsers = new ArrayList<>();
+        for (FormReportRepository.StudentCount row : topStudents) {
+            User user = usersById.get(row.getStudentId());
+            Map<String, Object> userMap = new HashMap<>();
+            userMap.put("email", user.getEmail());
+            userMap.put("name", user.getUsername());
+            userMap.put("role", user.getRole());
+            userMap.put("formCount", row.getTotal());
+            mostActiveUsers.add(userMap);
+        }
+        return mostActiveUsers;
     }
 
     // Get dashboard summary for admin
@@ -274,10 +252,8 @@ public class ReportsService {
         long todayRejections = 0; // No rejected date field, will calculate from status
         
         // Pending forms that need attention
-        List<Form> pendingForms = formRepository.findByStatus("PENDING");
-        long urgentForms = pendingForms.stream()
-            .filter(form -> form.getSubmittedDate().isBefore(LocalDateTime.now().minusDays(3)))
-            .count();
+        long pendingForms = statisticsService.getFormCount("PENDING");
+        long urgentForms = formReportRepository.countPendingSubmittedBefore(LocalDateTime.now().minusDays(3));
         
         summary.put("today", Map.of(
             "submissions", todaySubmissions,
@@ -286,7 +262,7 @@ public class ReportsService {
         ));
         
         summary.put("pending", Map.of(
-            "total", pendingForms.size(),
+            "total", pendingForms,
             "urgent", urgentForms
         ));
         
@@ -300,22 +276,21 @@ public class ReportsService {
         Map<String, Object> summary = new HashMap<>();
         
         // Forms that can be approved by this approver (based on department)
-        List<Form> pendingForms = formRepository.findByStatus("PENDING");
-        long assignedForms = pendingForms.stream()
-            .filter(form -> approver.getDepartment().equals(form.getStudent().getDepartment()))
-            .count();
+        long assignedForms = approver.getDepartment() != null
+            ? formRepository.countDepartmentQueue("Pending", approver.getDepartment())
+            : 0;
         
         long approvedByMe = formRepository.countByStatusAndApprovedBy("APPROVED", approver);
         long rejectedByMe = formRepository.countByStatusAndApprovedBy("REJECTED", approver);
         
         // Recent activity
         LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        List<Form> recentForms = formRepository.findByApprovedByAndApprovedDateAfter(approver, weekAgo);
+        long recentDecisions = formReportRepository.countDecidedByApproverSince(approver.getId(), weekAgo);
         
         summary.put("assigned", assignedForms);
         summary.put("approved", approvedByMe);
         summary.put("rejected", rejectedByMe);
-        summary.put("recentActivity", recentForms.size());
+        summary.put("recentActivity", recentDecisions);
         
         return summary;
     }
@@ -0,0 +1,273 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.StatisticCounter;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.AuditLogRepository;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.repository.FormReportRepository;
+import com.example.backend.form.repository.StatisticCounterRepository;
+import com.example.backend.form.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dashboard counters for forms, users, files and audit logs. Writers record changes
+// here after their transaction commits, so reads never touch the base tables. The
+// counters are flushed to the statistic_counters table periodically and on shutdown.
+// Startup seeds them from that table, then reconciles them with the base tables on a
+// background thread, so the grouped scans do not hold up the first reads.
+@Service
+public class StatisticsService {
+
+    private static final String FORMS_TOTAL = "forms.total";
+    private static final String FORMS_STATUS = "forms.status.";
+    private static final String USERS_TOTAL = "users.total";
+    private static final String USERS_ROLE = "users.role.";
+    private static final String FILES_COUNT = "files.count";
+    private static final String FILES_SIZE = "files.totalSize";
+    private static final String AUDIT_TOTAL = "audit.total";
+    private static final String AUDIT_ACTION = "audit.action.";
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Changes made while a rebuild query runs; re-applied on top of its result
+    private volatile Map<String, Long> recorded;
+
+    @Autowired
+    private FormReportRepository formReportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private StatisticCounterRepository statisticCounterRepository;
+
+    // Record a newly created form
+    public void formCreated(String status) {
+        AfterCommit.run(() -> {
+            add(FORMS_TOTAL, 1);
+            add(FORMS_STATUS + normalize(status), 1);
+        });
+    }
+
+    // Record a form moving from one status to another
+    public void formStatusChanged(String oldStatus, String newStatus) {
+        formStatusChanged(oldStatus, newStatus, 1);
+    }
+
+    // Record several forms moving from one status to another
+    public void formStatusChanged(String oldStatus, String newStatus, long count) {
+        if (count == 0 || normalize(oldStatus).equals(normalize(newStatus))) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            add(FORMS_STATUS + normalize(oldStatus), -count);
+            add(FORMS_STATUS + normalize(newStatus), count);
+        });
+    }
+
+    // Record an uploaded file
+    public void fileAdded(long size) {
+        AfterCommit.run(() -> {
+            add(FILES_COUNT, 1);
+            add(FILES_SIZE, size);
+        });
+    }
+
+    // Record a deleted file
+    public void fileRemoved(long size) {
+        AfterCommit.run(() -> {
+            add(FILES_COUNT, -1);
+            add(FILES_SIZE, -size);
+        });
+    }
+
+    // Record a written audit log
+    public void auditLogged(String action) {
+        AfterCommit.run(() -> {
+            add(AUDIT_TOTAL, 1);
+            add(AUDIT_ACTION + normalize(action), 1);
+        });
+    }
+
+    // User changes are rare and can change roles, so recount with one grouped query
+    public void usersChanged() {
+        AfterCommit.run(this::rebuildUsers);
+    }
+
+    public long getFormTotal() { return get(FORMS_TOTAL); }
+    public long getFormCount(String status) { return get(FORMS_STATUS + normalize(status)); }
+
+    public long getUserTotal() { return get(USERS_TOTAL); }
+    public long getUserCount(User.Role role) { return get(USERS_ROLE + normalize(role.name())); }
+
+    public long getFileCount() { return get(FILES_COUNT); }
+    public long getFileTotalSize() { return get(FILES_SIZE); }
+
+    public long getAuditTotal() { return get(AUDIT_TOTAL); }
+    public long getAuditCount(String action) { return get(AUDIT_ACTION + normalize(action)); }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        seed();
+        Thread reconcile = new Thread(this::reconcile, "statistics-reconcile");
+        reconcile.setDaemon(true);
+        reconcile.start();
+    }
+
+    // Add the last flushed snapshot to whatever was counted since startup
+    public void seed() {
+        try {
+            for (StatisticCounter counter : statisticCounterRepository.findAll()) {
+                counters.computeIfAbsent(counter.getName(), key -> new LongAdder()).add(counter.getValue());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to load statistic counters: " + e.getMessage());
+        }
+    }
+
+    // Correct whatever the snapshot missed, such as changes after its last flush
+    public void reconcile() {
+        try {
+            rebuild();
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to reconcile statistic counters: " + e.getMessage());
+        }
+    }
+
+    // Recompute every counter from the base tables. Changes recorded while a group's
+    // query runs are added to its result; one landing just as the result is applied
+    // can still be counted twice or missed, until the next rebuild.
+    public synchronized void rebuild() {
+        Map<String, Long> changes = startRecording();
+        Map<String, Long> formCounts = new HashMap<>();
+        long formTotal = 0;
+        for (FormReportRepository.StatusCount row : formReportRepository.countGroupedByStatus()) {
+            formCounts.merge(FORMS_STATUS + normalize(row.getStatus()), row.getTotal(), Long::sum);
+            formTotal += row.getTotal();
+        }
+        formCounts.put(FORMS_TOTAL, formTotal);
+        recorded = null;
+        replaceGroup(FORMS_STATUS, formCounts, changes);
+
+        changes = startRecording();
+        FileUploadRepository.FileTotals files = fileUploadRepository.sumActiveFiles();
+        Map<String, Long> fileCounts = new HashMap<>();
+        fileCounts.put(FILES_COUNT, files.getFileCount());
+        fileCounts.put(FILES_SIZE, files.getTotalSize());
+        recorded = null;
+        replaceGroup("files.", fileCounts, changes);
+
+        changes = startRecording();
+        Map<String, Long> auditCounts = new HashMap<>();
+        long auditTotal = 0;
+        for (AuditLogRepository.ActionCount row : auditLogRepository.countGroupedByAction()) {
+            auditCounts.merge(AUDIT_ACTION + normalize(row.getAction()), row.getTotal(), Long::sum);
+            auditTotal += row.getTotal();
+        }
+        auditCounts.put(AUDIT_TOTAL, auditTotal);
+        recorded = null;
+        replaceGroup(AUDIT_ACTION, auditCounts, changes);
+
+        rebuildUsers();
+    }
+
+    private synchronized void rebuildUsers() {
+        Map<String, Long> userCounts = new HashMap<>();
+        long userTotal = 0;
+        for (UserRepository.RoleCount row : userRepository.countGroupedByRole()) {
+            if (row.getRole() != null) {
+                userCounts.put(USERS_ROLE + normalize(row.getRole().name()), row.getTotal());
+            }
+            userTotal += row.getTotal();
+        }
+        userCounts.put(USERS_TOTAL, userTotal);
+        replaceGroup(USERS_ROLE, userCounts, Map.of());
+    }
+
+    // Persist a snapshot of the counters to the summary table
+    @Scheduled(fixedDelayString = "${app.statistics.flush-interval-ms:60000}",
+               initialDelayString = "${app.statistics.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<StatisticCounter> snapshot = new ArrayList<>();
+        counters.forEach((name, adder) -> snapshot.add(new StatisticCounter(name, adder.sum(), now)));
+        try {
+            statisticCounterRepository.saveAll(snapshot);
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            System.err.println("Failed to flush statistic counters: " + e.getMessage());
+        }
+    }
+
+    private long get(String name) {
+        LongAdder adder = counters.get(name);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private void add(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+        Map<String, Long> changes = recorded;
+        if (changes != null) {
+            changes.merge(name, delta, Long::sum);
+        }
+        dirty.set(true);
+    }
+
+    private Map<String, Long> startRecording() {
+        Map<String, Long> changes = new ConcurrentHashMap<>();
+        recorded = changes;
+        return changes;
+    }
+
+    private void set(String name, long value) {
+        LongAdder adder = counters.computeIfAbsent(name, key -> new LongAdder());
+        adder.reset();
+        adder.add(value);
+        dirty.set(true);
+    }
+
+    // Set every counter in a group, plus the group's recorded changes, zeroing keys
+    // that no longer have rows
+    private void replaceGroup(String prefix, Map<String, Long> values, Map<String, Long> changes) {
+        Map<String, Long> merged = new HashMap<>(values);
+        changes.forEach((name, delta) -> {
+            if (name.startsWith(prefix) || values.containsKey(name)) {
+                merged.merge(name, delta, Long::sum);
+            }
+        });
+        counters.keySet().stream()
+            .filter(name -> name.startsWith(prefix) && !merged.containsKey(name))
+            .forEach(name -> set(name, 0));
+        merged.forEach(this::set);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "UNKNOWN" : value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.repository.FileUploadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Storage usage (active file count and bytes) per form, per uploader and per MIME
+// type. Uploads and deletes adjust the rollup after their transaction commits; the
+// whole rollup is recomputed from grouped SUM queries on startup and on a schedule,
+// which also corrects any drift from updates racing a reconcile.
+@Service
+public class StorageRollupService {
+
+    public enum Scope { FORM, USER, MIME }
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    private final Map<Scope, ConcurrentHashMap<String, Totals>> rollups = new EnumMap<>(Scope.class);
+
+    public StorageRollupService() {
+        for (Scope scope : Scope.values()) {
+            rollups.put(scope, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Record an uploaded file
+    public void fileAdded(FileUpload file) {
+        record(file, 1);
+    }
+
+    // Record a deleted file
+    public void fileRemoved(FileUpload file) {
+        record(file, -1);
+    }
+
+    public FileUploadService.FileStatistics getTotals(Scope scope, Object key) {
+        Totals totals = rollups.get(scope).get(String.valueOf(key));
+        return totals != null ? totals.toStatistics() : new FileUploadService.FileStatistics(0, 0);
+    }
+
+    // Every non-empty entry of a scope, ordered by key
+    public Map<String, FileUploadService.FileStatistics> getAll(Scope scope) {
+        Map<String, FileUploadService.FileStatistics> result = new TreeMap<>();
+        rollups.get(scope).forEach((key, totals) -> {
+            FileUploadService.FileStatistics stats = totals.toStatistics();
+            if (stats.getFileCount() > 0) {
+                result.put(key, stats);
+            }
+        });
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    // Replace each scope with the database totals
+    @Scheduled(fixedDelayString = "${app.storage.reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.storage.reconcile-interval-ms:3600000}")
+    public synchronized void reconcile() {
+        replace(Scope.FORM, fileUploadRepository.sumActiveFilesByForm());
+        replace(Scope.USER, fileUploadRepository.sumActiveFilesByUser());
+        replace(Scope.MIME, fileUploadRepository.sumActiveFilesByType());
+    }
+
+    private void record(FileUpload file, int sign) {
+        String formKey = file.getForm() != null ? String.valueOf(file.getForm().getId()) : null;
+        String userKey = file.getUploadedBy() != null ? String.valueOf(file.getUploadedBy().getId()) : null;
+        String mimeKey = file.getFileType();
+        long size = file.getFileSize() != null ? file.getFileSize() : 0;
+        AfterCommit.run(() -> {
+            add(Scope.FORM, formKey, sign, sign * size);
+            add(Scope.USER, userKey, sign, sign * size);
+            add(Scope.MIME, mimeKey, sign, sign * size);
+        });
+    }
+
+    private void add(Scope scope, String key, long count, long bytes) {
+        if (key == null) {
+            return;
+        }
+        Totals totals = rollups.get(scope).computeIfAbsent(key, k -> new Totals());
+        totals.count.add(count);
+        totals.bytes.add(bytes);
+    }
+
+    private void replace(Scope scope, List<FileUploadRepository.ScopeTotals> rows) {
+        ConcurrentHashMap<String, Totals> current = rollups.get(scope);
+        Map<String, Totals> fresh = new HashMap<>();
+        for (FileUploadRepository.ScopeTotals row : rows) {
+            if (row.getScopeKey() != null) {
+                Totals totals = new Totals();
+                totals.count.add(row.getFileCount());
+                totals.bytes.add(row.getTotalSize());
+                fresh.put(row.getScopeKey(), totals);
+            }
+        }
+        current.keySet().retainAll(fresh.keySet());
+        current.putAll(fresh);
+    }
+
+    private static class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private FileUploadService.FileStatistics toStatistics() {
+            return new FileUploadService.FileStatistics(count.sum(), bytes.sum());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FormTemplate;
+import com.example.backend.form.repository.FormTemplateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Read-through cache of the active form templates, with a per-department index.
+// Templates change a few times a term, so the whole catalog is loaded in one query
+// and rebuilt only after FormTemplateService invalidates it.
+//
+// The version stamp changes on every invalidation and is served as the ETag of the
+// template list endpoints. It includes the startup time so a restart never reuses
+// an old stamp.
+@Component
+public class TemplateCatalog {
+
+    @Autowired
+    private FormTemplateRepository formTemplateRepository;
+
+    @Autowired
+    private TemplateValidatorCache templateValidatorCache;
+
+    private final long epoch = System.currentTimeMillis();
+    private long generation;
+    private volatile Snapshot snapshot;
+
+    public List<FormTemplate> getActiveTemplates() {
+        return current().active;
+    }
+
+    public Optional<FormTemplate> findActive(Long templateId) {
+        return Optional.ofNullable(current().byId.get(templateId));
+    }
+
+    // Unrestricted templates plus restricted ones that allow the department
+    public List<FormTemplate> getTemplatesForDepartment(String department) {
+        Snapshot current = current();
+        return current.byDepartment.getOrDefault(department, current.unrestricted);
+    }
+
+    public String getVersion() {
+        return current().version;
+    }
+
+    // Drop the catalog once the caller's transaction commits, so a reload cannot see
+    // the data from before the change
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                snapshot = null;
+            }
+        });
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private synchronized Snapshot load() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        List<FormTemplate> active = formTemplateRepository.findByIsActiveTrue();
+        Map<Long, FormTemplate> byId = new LinkedHashMap<>();
+        List<FormTemplate> unrestricted = new ArrayList<>();
+        Map<String, List<FormTemplate>> restricted = new HashMap<>();
+        for (FormTemplate template : active) {
+            byId.put(template.getId(), template);
+            TemplateValidator validator;
+            try {
+                validator = templateValidatorCache.get(template);
+            } catch (RuntimeException e) {
+                // Malformed metadata: listed by id, offered to no department
+                continue;
+            }
+            if (!validator.isDepartmentRestricted()) {
+                unrestricted.add(template);
+            } else {
+                for (String department : validator.getAllowedDepartments()) {
+                    restricted.computeIfAbsent(department, key -> new ArrayList<>()).add(template);
+                }
+            }
+        }
+
+        Map<String, List<FormTemplate>> byDepartment = new HashMap<>();
+        restricted.forEach((department, templates) -> {
+            List<FormTemplate> visible = new ArrayList<>(unrestricted);
+            visible.addAll(templates);
+            byDepartment.put(department, List.copyOf(visible));
+        });
+
+        snapshot = new Snapshot("\"templates-" + epoch + "-" + generation + "\"", List.copyOf(active),
+            Map.copyOf(byId), List.copyOf(unrestricted), Map.copyOf(byDepartment));
+        return snapshot;
+    }
+
+    private static class Snapshot {
+        private final String version;
+        private final List<FormTemplate> active;
+        private final Map<Long, FormTemplate> byId;
+        private final List<FormTemplate> unrestricted;
+        private final Map<String, List<FormTemplate>> byDepartment;
+
+        private Snapshot(String version, List<FormTemplate> active, Map<Long, FormTemplate> byId,
+                         List<FormTemplate> unrestricted, Map<String, List<FormTemplate>> byDepartment) {
+            this.version = version;
+            this.active = active;
+            this.byId = byId;
+            this.unrestricted = unrestricted;
+            this.byDepartment = byDepartment;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FormTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Immutable validation rules compiled from a template's JSON columns. Compiling
+// parses requiredFields, formFields and allowedDepartments once; validating a
+// submission afterwards does no JSON work.
+public final class TemplateValidator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Long templateId;
+    private final long templateVersion;
+    private final List<String> requiredFields;
+    private final Map<String, FieldRule> fieldRules;
+    private final boolean departmentRestricted;
+    private final Set<String> allowedDepartments;
+
+    private TemplateValidator(Long templateId, long templateVersion, List<String> requiredFields,
+                              Map<String, FieldRule> fieldRules, boolean departmentRestricted,
+                              Set<String> allowedDepartments) {
+        this.templateId = templateId;
+        this.templateVersion = templateVersion;
+        this.requiredFields = requiredFields;
+        this.fieldRules = fieldRules;
+        this.departmentRestricted = departmentRestricted;
+        this.allowedDepartments = allowedDepartments;
+    }
+
+    // Parse the template's JSON columns; malformed JSON is reported as it was by validateTemplate
+    public static TemplateValidator compile(FormTemplate template) {
+        List<String> required = List.of();
+        if (hasText(template.getRequiredFields())) {
+            try {
+                required = nonNull(OBJECT_MAPPER.readValue(template.getRequiredFields(),
+                    new TypeReference<List<String>>() {}));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Invalid required fields JSON format");
+            }
+        }
+
+        Map<String, FieldRule> rules = new LinkedHashMap<>();
+        if (hasText(template.getFormFields())) {
+            Map<String, Object> fields = null;
+            try {
+                fields = OBJECT_MAPPER.readValue(template.getFormFields(), new TypeReference<Map<String, Object>>() {});
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Invalid form fields JSON format");
+            }
+            if (fields == null) {
+                fields = Map.of();
+            }
+            fields.forEach((name, definition) -> {
+                if (definition instanceof Map<?, ?> map) {
+                    rules.put(name, FieldRule.of(name, map));
+                }
+            });
+        }
+
+        Set<String> departments = Set.of();
+        if (hasText(template.getAllowedDepartments())) {
+            try {
+                departments = Set.copyOf(nonNull(OBJECT_MAPPER.readValue(template.getAllowedDepartments(),
+                    new TypeReference<List<String>>() {})));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Invalid allowed departments JSON format");
+            }
+        }
+
+        return new TemplateValidator(template.getId(), template.getVersion(), required, Map.copyOf(rules),
+            template.isDepartmentRestricted(), departments);
+    }
+
+    // Check required fields, then the typed rules of every field that has a value
+    public void validate(Map<String, Object> formData) {
+        for (String field : requiredFields) {
+            if (isBlank(formData.get(field))) {
+                throw new RuntimeException("Required field missing: " + field);
+            }
+        }
+        for (FieldRule rule : fieldRules.values()) {
+            Object value = formData.get(rule.name);
+            if (!isBlank(value)) {
+                rule.check(value);
+            }
+        }
+    }
+
+    // Unrestricted templates are open to every department
+    public boolean allowsDepartment(String department) {
+        return !departmentRestricted || allowedDepartments.contains(department);
+    }
+
+    public Long getTemplateId() { return templateId; }
+    public long getTemplateVersion() { return templateVersion; }
+    public boolean isDepartmentRestricted() { return departmentRestricted; }
+    public Set<String> getAllowedDepartments() { return allowedDepartments; }
+
+    private static List<String> nonNull(List<String> values) {
+        return values == null ? List.of() : values.stream().filter(Objects::nonNull).toList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || value.toString().trim().isEmpty();
+    }
+
+    // Type check for one field: number, date, or select with fixed options. Other
+    // types (text, textarea, file) only take part in the required check.
+    private static final class FieldRule {
+        private final String name;
+        private final String type;
+        private final String label;
+        private final Set<String> options;
+
+        private FieldRule(String name, String type, String label, Set<String> options) {
+            this.name = name;
+            this.type = type;
+            this.label = label;
+            this.options = options;
+        }
+
+        private static FieldRule of(String name, Map<?, ?> definition) {
+            String type = String.valueOf(definition.get("type"));
+            Object label = definition.get("label");
+            Set<String> options = Set.of();
+            if (definition.get("options") instanceof Collection<?> values) {
+                options = values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+            }
+            return new FieldRule(name, type, label != null ? label.toString() : name, options);
+        }
+
+        private void check(Object value) {
+            switch (type) {
+                case "number":
+                    if (!(value instanceof Number)) {
+                        try {
+                            new BigDecimal(value.toString().trim());
+                        } catch (NumberFormatException e) {
+                            throw new RuntimeException(label + " must be a number");
+                        }
+                    }
+                    break;
+                case "date":
+                    String text = value.toString().trim();
+                    try {
+                        // Accept a plain date or the date part of an ISO timestamp
+                        LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+                    } catch (DateTimeParseException e) {
+                        throw new RuntimeException(label + " must be a date (yyyy-MM-dd)");
+                    }
+                    break;
+                case "select":
+                    if (options.isEmpty()) {
+                        break;
+                    }
+                    Collection<?> chosen = value instanceof Collection<?> values ? values : List.of(value);
+                    for (Object option : chosen) {
+                        if (!options.contains(String.valueOf(option))) {
+                            throw new RuntimeException(label + " has an invalid option: " + option);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.form.service;
+
+import com.example.backend.form.model.FormTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compiled validators by template id. An entry is reused only while its version
+// matches the template passed in, so a stale entry is recompiled even if an
+// update slipped past evict (for example, one made from another node).
+@Component
+public class TemplateValidatorCache {
+
+    private final ConcurrentHashMap<Long, TemplateValidator> validators = new ConcurrentHashMap<>();
+
+    public TemplateValidator get(FormTemplate template) {
+        if (template.getId() == null) {
+            return TemplateValidator.compile(template);
+        }
+        TemplateValidator cached = validators.get(template.getId());
+        if (cached != null && cached.getTemplateVersion() == template.getVersion()) {
+            return cached;
+        }
+        TemplateValidator compiled = TemplateValidator.compile(template);
+        validators.put(template.getId(), compiled);
+        return compiled;
+    }
+
+    public void evict(Long templateId) {
+        validators.remove(templateId);
+    }
+}
@@ -1,6 +1,7 @@
 // Location: src/main/java/com/example/backend/auth/service/UserService.java
 package com.example.backend.form.service;
 
+import com.example.backend.auth.config.PrincipalCache;
 import com.example.backend.form.repository.UserRepository;
 import com.example.backend.form.model.User;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
@@ -25,6 +26,15 @@ public class UserService {
     @Autowired
     private GoogleOAuthService googleOAuthService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
     // Traditional login
     public Optional<User> authenticateUser(String identifier, String password) {
         Optional<User> userOpt = userRepository.findByUsernameOrEmail(identifier);
@@ -89,7 +99,9 @@ public class UserService {
                 newUser.setUsername(username);
             }
 
-            return userRepository.save(newUser);
+            User savedUser = userRepository.save(newUser);
+            statisticsService.usersChanged();
+            return savedUser;
 
         } catch (Exception e) {
             throw new RuntimeException("Google authentication failed: " + e.getMessage(), e);
@@ -113,7 +125,9 @@ public class UserService {
             user.setCourse("Bachelor of Science in Computer Science");
             user.setYearLevel("1st Year");
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        statisticsService.usersChanged();
+        return savedUser;
     }
 
     // ✅ New: Generate a simple student ID (for demo purposes)
@@ -158,7 +172,13 @@ public class UserService {
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Role or active flag may have changed; cached principals must be rebuilt
+        principalCache.evictUser(saved.getId());
+        // Cached notification counts remember the role for role-wide notifications
+        notificationCounterCache.evict(saved.getId());
+        statisticsService.usersChanged();
+        return saved;
     }
 
     public void deactivateUser(Long userId) {
@@ -167,6 +187,7 @@ public class UserService {
             User user = userOpt.get();
             user.setIsActive(false);
             userRepository.save(user);
+            principalCache.evictUser(userId);
         }
     }
 
@@ -176,6 +197,7 @@ public class UserService {
             User user = userOpt.get();
             user.setIsActive(true);
             userRepository.save(user);
+            principalCache.evictUser(userId);
         }
     }
 
@@ -186,6 +208,7 @@ public class UserService {
             if (user.isTraditionalUser() && passwordEncoder.matches(oldPassword, user.getPassword())) {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 userRepository.save(user);
+                principalCache.evictUser(userId);
             } else {
                 throw new RuntimeException("Invalid old password or user is not a traditional user");
             }
@@ -231,6 +254,9 @@ public class UserService {
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        principalCache.evictUser(id);
+        notificationCounterCache.evict(id);
+        statisticsService.usersChanged();
     }
 }
     
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.backend;
+
+import com.example.backend.form.model.CursorPage;
+import com.example.backend.form.model.FormSummary;
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.ApproverQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ApproverQueueServiceTest {
+    @Mock
+    private FormRepository formRepository;
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private ApproverQueueService approverQueueService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testApproverGetsOwnDepartmentOnePageAtATime() {
+        User approver = new User("approver", "approver@example.com", "password", User.Role.Approver);
+        approver.setDepartment("CCS");
+        when(userRepository.findByEmail("approver@example.com")).thenReturn(Optional.of(approver));
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 8, 0);
+        when(formRepository.findPendingQueue(eq("CCS"), isNull(), eq(3)))
+            .thenReturn(List.of(summary(1L, start), summary(2L, start.plusHours(1)), summary(3L, start.plusHours(2))));
+
+        CursorPage<FormSummary> page = approverQueueService.getQueue("approver@example.com", null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(FormSummary::getId).toList());
+        assertTrue(page.isHasMore());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, next.getId());
+        assertEquals(start.plusHours(1), next.getTimestamp());
+    }
+
+    @Test
+    void testAdminSeesEveryDepartmentAndStudentsAreRefused() {
+        User admin = new User("admin", "admin@example.com", "password", User.Role.Admin);
+        admin.setDepartment("CCS");
+        when(formRepository.findPendingQueue(isNull(), isNull(), anyInt())).thenReturn(List.of());
+        when(formRepository.countByStatus("Pending")).thenReturn(7L);
+
+        assertTrue(approverQueueService.getQueue(admin, null, 10).getItems().isEmpty());
+        assertEquals(7, approverQueueService.countQueue(admin));
+
+        User student = new User("student", "student@example.com", "password");
+        assertThrows(RuntimeException.class, () -> approverQueueService.getQueue(student, null, 10));
+    }
+
+    private FormSummary summary(Long id, LocalDateTime submitted) {
+        return new FormSummary(id, "Leave", "Pending", submitted, null, 1, 1, 10L, "student", "student@example.com");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend;
+
+import com.example.backend.form.service.AuditLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuditLogWriterTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private AuditLogWriter auditLogWriter;
+
+    @TempDir
+    Path tempDir;
+
+    private Path spillFile;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        spillFile = tempDir.resolve("audit-spill.jsonl");
+        ReflectionTestUtils.setField(auditLogWriter, "queueCapacity", 1);
+        ReflectionTestUtils.setField(auditLogWriter, "batchSize", 50);
+        ReflectionTestUtils.setField(auditLogWriter, "offerTimeoutMs", 1L);
+        ReflectionTestUtils.setField(auditLogWriter, "spillFile", spillFile.toString());
+        auditLogWriter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogWriter.stop();
+    }
+
+    @Test
+    void testFullQueueSpillsToDisk() throws Exception {
+        auditLogWriter.write(event("LOGIN"));
+        auditLogWriter.write(event("LOGOUT"));
+
+        assertEquals(1, auditLogWriter.getQueuedCount());
+        List<String> lines = Files.readAllLines(spillFile);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("LOGOUT"));
+    }
+
+    @Test
+    void testStartReplaysSpillFile() throws Exception {
+        auditLogWriter.write(event("LOGIN"));
+        auditLogWriter.write(event("FILE_UPLOAD"));
+        auditLogWriter.stop();
+
+        auditLogWriter.start();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 2));
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void testWorkerReplaysSpilledBatchWithoutRestart() throws Exception {
+        ReflectionTestUtils.setField(auditLogWriter, "spillRetryMs", 0L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new RuntimeException("database down"))
+            .thenReturn(new int[] { 1 });
+        auditLogWriter.start();
+
+        auditLogWriter.write(event("LOGIN"));
+
+        // The failed batch is spilled, then inserted again by the running worker
+        verify(jdbcTemplate, timeout(5000).times(2)).batchUpdate(anyString(), anyList());
+        auditLogWriter.stop();
+        assertFalse(Files.exists(spillFile));
+    }
+
+    private AuditLogWriter.AuditEvent event(String action) {
+        return new AuditLogWriter.AuditEvent(1L, action, "USER", 1L, "details", "127.0.0.1", "test", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.service.FileDownloadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileDownloadServiceTest {
+    private final FileDownloadService fileDownloadService = new FileDownloadService();
+
+    @TempDir
+    Path dir;
+
+    private FileUpload file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path path = dir.resolve("blob");
+        Files.writeString(path, "0123456789", StandardCharsets.US_ASCII);
+        file = new FileUpload(null, null, "blob", "digits.txt", "text/plain", 10L, path.toString(), null);
+        file.setContentHash("abc123");
+    }
+
+    @Test
+    void testFullDownloadSetsValidators() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"abc123\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void testMatchingEtagReturnsNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"other\", \"abc123\"");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSingleAndSuffixRanges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=2-4");
+        MockHttpServletResponse response = serve(request);
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-4/10", response.getHeader("Content-Range"));
+        assertEquals("234", response.getContentAsString());
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=-3");
+        response = serve(request);
+        assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    void testMultipleRangesUseMultipartByteranges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-1,8-");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+    }
+
+    @Test
+    void testUnsatisfiableRangeAndStaleIfRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=20-30");
+        MockHttpServletResponse response = serve(request);
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-1");
+        request.addHeader("If-Range", "\"stale\"");
+        response = serve(request);
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.serve(file, false, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.service.AuditService;
+import com.example.backend.form.service.BlobStore;
+import com.example.backend.form.service.FileUploadService;
+import com.example.backend.form.service.FormSearchIndex;
+import com.example.backend.form.service.StatisticsService;
+import com.example.backend.form.service.StorageRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class FileUploadServiceTest {
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private StatisticsService statisticsService;
+    @Mock
+    private StorageRollupService storageRollupService;
+    @Mock
+    private FormSearchIndex formSearchIndex;
+    @InjectMocks
+    private FileUploadService fileUploadService;
+
+    @TempDir
+    Path uploadDir;
+
+    private Form form;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        BlobStore blobStore = new BlobStore();
+        ReflectionTestUtils.setField(blobStore, "fileUploadRepository", fileUploadRepository);
+        ReflectionTestUtils.setField(blobStore, "uploadPath", uploadDir.toString());
+        ReflectionTestUtils.setField(fileUploadService, "blobStore", blobStore);
+        ReflectionTestUtils.setField(fileUploadService, "maxFileSize", 16L);
+        ReflectionTestUtils.setField(fileUploadService, "allowedFileTypes", "application/pdf,text/plain");
+        when(fileUploadRepository.save(any(FileUpload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        form = new Form();
+        form.setId(7L);
+        user = new User("student", "student@example.com", "password");
+        user.setId(3L);
+    }
+
+    @Test
+    void testUploadStreamStoresSizeAndSha256() throws Exception {
+        byte[] content = "hello".getBytes(StandardCharsets.UTF_8);
+        FileUpload upload = fileUploadService.uploadStream(new ByteArrayInputStream(content), "note.txt", "text/plain",
+            form, user, null, "127.0.0.1", "test");
+
+        assertEquals(5L, upload.getFileSize());
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", upload.getContentHash());
+        assertArrayEquals(content, Files.readAllBytes(Path.of(upload.getFilePath())));
+    }
+
+    @Test
+    void testUploadStreamAbortsWhenTooLargeAndLeavesNoFile() throws Exception {
+        byte[] content = new byte[17];
+        assertThrows(IOException.class, () -> fileUploadService.uploadStream(new ByteArrayInputStream(content),
+            "scan.pdf", "application/pdf", form, user, null, "127.0.0.1", "test"));
+
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+        verify(fileUploadRepository, never()).save(any());
+    }
+
+    @Test
+    void testIdenticalUploadsShareOneBlobUntilLastDelete() throws Exception {
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+        FileUpload first = fileUploadService.uploadStream(new ByteArrayInputStream(content), "a.txt", "text/plain",
+            form, user, null, "127.0.0.1", "test");
+        FileUpload second = fileUploadService.uploadStream(new ByteArrayInputStream(content), "b.txt", "text/plain",
+            form, user, null, "127.0.0.1", "test");
+
+        assertEquals(first.getFilePath(), second.getFilePath());
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+
+        when(fileUploadRepository.findById(1L)).thenReturn(Optional.of(first));
+        when(fileUploadRepository.countByContentHashAndIsActiveTrue(first.getContentHash())).thenReturn(1L);
+        assertTrue(fileUploadService.deleteFile(1L, user, "127.0.0.1", "test"));
+        assertTrue(Files.exists(Path.of(second.getFilePath())));
+        // The blob is still on disk for the second upload, but the deleted one is not served
+        assertNull(fileUploadService.getFileById(1L));
+        when(fileUploadRepository.findById(2L)).thenReturn(Optional.of(second));
+        assertSame(second, fileUploadService.getFileById(2L));
+
+        when(fileUploadRepository.countByContentHashAndIsActiveTrue(first.getContentHash())).thenReturn(0L);
+        assertTrue(fileUploadService.deleteFile(2L, user, "127.0.0.1", "test"));
+        assertFalse(Files.exists(Path.of(second.getFilePath())));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FieldPredicate;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormFieldValue;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.service.FormFieldIndexer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FormFieldIndexerTest {
+    @Mock
+    private FormRepository formRepository;
+    @InjectMocks
+    private FormFieldIndexer formFieldIndexer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testIndexWritesTypedRowPerValue() {
+        Form form = new Form();
+        form.setId(5L);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("requestedUnits", 27.0);
+        data.put("targetCourse", "  BS Nursing ");
+        data.put("startDate", "2025-06-01");
+        data.put("subjects", List.of("MATH 101", "PHYS 102"));
+        data.put("notes", "");
+        data.put("address", Map.of("city", "Cebu"));
+
+        formFieldIndexer.index(form, data);
+
+        ArgumentCaptor<List<FormFieldValue>> rows = ArgumentCaptor.forClass(List.class);
+        verify(formRepository).replaceFieldValues(eq(5L), rows.capture());
+        List<FormFieldValue> values = rows.getValue();
+        assertEquals(5, values.size());
+        assertEquals("27", values.get(0).getTextValue());
+        assertEquals(0, new BigDecimal("27").compareTo(values.get(0).getNumberValue()));
+        assertEquals("bs nursing", values.get(1).getTextValue());
+        assertNull(values.get(1).getNumberValue());
+        assertEquals(LocalDate.of(2025, 6, 1), values.get(2).getDateValue());
+        assertEquals("math 101", values.get(3).getTextValue());
+        assertEquals("phys 102", values.get(4).getTextValue());
+    }
+
+    @Test
+    void testFieldPredicateParse() {
+        FieldPredicate predicate = FieldPredicate.parse("requestedUnits:gt:24");
+        assertEquals(FieldPredicate.Operator.GT, predicate.getOperator());
+        assertEquals(0, new BigDecimal("24").compareTo(predicate.getNumber()));
+        assertEquals("12:30", FieldPredicate.parse("time:eq:12:30").getValue());
+
+        assertThrows(RuntimeException.class, () -> FieldPredicate.parse("requestedUnits:gt:many"));
+        assertThrows(RuntimeException.class, () -> FieldPredicate.parse("requestedUnits:between:1"));
+        assertThrows(RuntimeException.class, () -> FieldPredicate.parse("requestedUnits"));
+    }
+}
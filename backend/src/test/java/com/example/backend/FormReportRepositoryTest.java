@@ -0,0 +1,254 @@
+package com.example.backend;
+
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormReportRepository;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class FormReportRepositoryTest {
+    @Autowired
+    private FormReportRepository formReportRepository;
+    @Autowired
+    private FormRepository formRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 1, 5, 8, 30);
+    private User student;
+    private User approver;
+    private User otherApprover;
+
+    @BeforeEach
+    void setUp() {
+        student = userRepository.save(new User("student", "student@example.com", "password"));
+        approver = userRepository.save(new User("approver", "approver@example.com", "password", User.Role.Approver));
+        otherApprover = userRepository.save(new User("other", "other@example.com", "password", User.Role.Approver));
+    }
+
+    @Test
+    void testTypeAndStatusCountsMatchInMemoryGrouping() {
+        form("Leave", "Pending", start);
+        form("Leave", "Pending", start.plusDays(1));
+        form("Leave", "Approved", start.plusDays(2));
+        form("Shift", "Rejected", start.plusDays(3));
+
+        Map<String, Long> all = new HashMap<>();
+        for (FormReportRepository.TypeStatusCount row : formReportRepository.countByTypeAndStatus()) {
+            all.put(row.getType() + "/" + row.getStatus(), row.getTotal());
+        }
+        assertEquals(Map.of("Leave/Pending", 2L, "Leave/Approved", 1L, "Shift/Rejected", 1L), all);
+
+        // Both ends of the range are inclusive, like findBySubmittedDateBetween
+        Map<String, Long> ranged = new HashMap<>();
+        for (FormReportRepository.TypeStatusCount row :
+                formReportRepository.countByTypeAndStatusSubmittedBetween(start.plusDays(1), start.plusDays(3))) {
+            ranged.put(row.getType() + "/" + row.getStatus(), row.getTotal());
+        }
+        assertEquals(Map.of("Leave/Pending", 1L, "Leave/Approved", 1L, "Shift/Rejected", 1L), ranged);
+
+        Map<String, Long> byStatus = new HashMap<>();
+        for (FormReportRepository.StatusCount row : formReportRepository.countGroupedByStatus()) {
+            byStatus.put(row.getStatus(), row.getTotal());
+        }
+        assertEquals(Map.of("Pending", 2L, "Approved", 1L, "Rejected", 1L), byStatus);
+    }
+
+    @Test
+    void testDailyCountsGroupByCalendarDay() {
+        LocalDate day = start.toLocalDate();
+        form("Leave", "Pending", day.atStartOfDay());
+        form("Leave", "Pending", day.atTime(23, 59, 59));
+        form("Leave", "Pending", day.plusDays(1).atTime(0, 0, 1));
+        form("Leave", "Pending", day.plusDays(5).atTime(12, 0));
+
+        Map<String, Long> daily = new HashMap<>();
+        for (FormReportRepository.DailyCount row :
+                formReportRepository.countDailySubmissionsBetween(day.atStartOfDay(), day.plusDays(1).atTime(23, 59, 59))) {
+            daily.put(row.getDay().toString(), row.getTotal());
+        }
+
+        assertEquals(Map.of("2026-01-05", 2L, "2026-01-06", 1L), daily);
+    }
+
+    @Test
+    void testMonthlyCountsApprovalsWhateverTheStatusCasing() {
+        form("Leave", "Approved", LocalDateTime.of(2026, 1, 31, 23, 0));
+        form("Leave", "APPROVED", LocalDateTime.of(2026, 1, 2, 9, 0));
+        form("Leave", "Pending", LocalDateTime.of(2026, 1, 15, 9, 0));
+        form("Leave", "Rejected", LocalDateTime.of(2026, 2, 1, 0, 30));
+        // Not after the cutoff
+        form("Leave", "Approved", LocalDateTime.of(2025, 12, 1, 0, 0));
+
+        Map<String, long[]> monthly = new HashMap<>();
+        for (FormReportRepository.MonthlyCount row :
+                formReportRepository.countMonthlySubmissionsSince(LocalDateTime.of(2025, 12, 1, 0, 0))) {
+            monthly.put(String.format("%04d-%02d", row.getYear(), row.getMonth()), new long[] { row.getTotal(), row.getApproved() });
+        }
+
+        assertEquals(2, monthly.size());
+        assertArrayEquals(new long[] { 3, 2 }, monthly.get("2026-01"));
+        assertArrayEquals(new long[] { 1, 0 }, monthly.get("2026-02"));
+    }
+
+    @Test
+    void testApprovalTimeBucketsTruncateToWholeHoursLikeDuration() {
+        // Duration.toHours truncates: 23h59m is still within 24 hours, 24h is not
+        approved(start, start.plusHours(23).plusMinutes(59));
+        approved(start, start.plusHours(24));
+        approved(start, start.plusHours(71).plusMinutes(59));
+        approved(start, start.plusHours(72));
+        approved(start, start.plusHours(168));
+        // Lower-case status still counts; undecided and rejected forms do not
+        Form lower = approved(start, start.plusHours(2).plusMinutes(30));
+        lower.setStatus("approved");
+        formRepository.saveAndFlush(lower);
+        form("Leave", "Approved", start);
+        Form rejected = approved(start, start.plusHours(1));
+        rejected.setStatus("Rejected");
+        formRepository.saveAndFlush(rejected);
+
+        Map<String, Long> buckets = new HashMap<>();
+        long timed = 0;
+        long totalHours = 0;
+        for (FormReportRepository.ApprovalTimeBucket row : formReportRepository.countApprovalTimeBuckets()) {
+            buckets.put(row.getBucket(), row.getTotal());
+            timed += row.getTotal();
+            totalHours += row.getTotalHours();
+        }
+
+        assertEquals(Map.of("Within 24 hours", 2L, "1-3 days", 2L, "3-7 days", 1L, "Over 7 days", 1L), buckets);
+        assertEquals(6, timed);
+        assertEquals(23 + 24 + 71 + 72 + 168 + 2, totalHours);
+    }
+
+    @Test
+    void testDecisionsPerApproverAndStatus() {
+        decided("Approved", approver, start.plusDays(1));
+        decided("Approved", approver, start.plusDays(2));
+        decided("Rejected", approver, start.plusDays(3));
+        decided("Rejected", otherApprover, start.plusDays(4));
+        form("Leave", "Pending", start);
+
+        Map<String, Long> decisions = new HashMap<>();
+        for (FormReportRepository.ApproverStatusCount row : formReportRepository.countByApproverAndStatus()) {
+            decisions.put(row.getApproverId() + "/" + row.getStatus(), row.getTotal());
+        }
+
+        assertEquals(Map.of(
+            approver.getId() + "/Approved", 2L,
+            approver.getId() + "/Rejected", 1L,
+            otherApprover.getId() + "/Rejected", 1L), decisions);
+        // Strictly after the cutoff, like findByApprovedByAndApprovedDateAfter
+        assertEquals(2, formReportRepository.countDecidedByApproverSince(approver.getId(), start.plusDays(1)));
+        assertEquals(0, formReportRepository.countDecidedByApproverSince(otherApprover.getId(), start.plusDays(4)));
+    }
+
+    @Test
+    void testUrgentPendingCountIgnoresCasingAndNewerForms() {
+        form("Leave", "Pending", start);
+        form("Leave", "PENDING", start.plusHours(1));
+        form("Leave", "Pending", start.plusDays(4));
+        form("Leave", "Approved", start);
+
+        assertEquals(2, formReportRepository.countPendingSubmittedBefore(start.plusDays(3)));
+    }
+
+    @Test
+    void testFormsPerUserReportsZeroForUsersWithoutForms() {
+        User idle = userRepository.save(new User("idle", "idle@example.com", "password"));
+        form("Leave", "Pending", start);
+        form("Leave", "Approved", start.plusDays(1));
+
+        Map<String, Long> perUser = new HashMap<>();
+        for (FormReportRepository.StudentCount row : formReportRepository.countFormsPerUser()) {
+            perUser.put(row.getEmail(), row.getTotal());
+        }
+
+        // Every user is listed, as the old per-user countByStudent loop did
+        assertEquals(Map.of(
+            student.getEmail(), 2L,
+            idle.getEmail(), 0L,
+            approver.getEmail(), 0L,
+            otherApprover.getEmail(), 0L), perUser);
+    }
+
+    @Test
+    void testFormsPerStudentSinceOnlyListsStudentsWithRecentForms() {
+        User quiet = userRepository.save(new User("quiet", "quiet@example.com", "password"));
+        form("Leave", "Pending", start);
+        form("Leave", "Pending", start.plusDays(2));
+        form(quiet, start.minusDays(1));
+
+        Map<String, Long> recent = new HashMap<>();
+        for (FormReportRepository.StudentCount row : formReportRepository.countFormsPerStudentSince(start)) {
+            recent.put(row.getEmail(), row.getTotal());
+        }
+
+        assertEquals(Map.of(student.getEmail(), 1L), recent);
+    }
+
+    @Test
+    void testTopStudentsAreOrderedByCountThenIdAndLimited() {
+        User busiest = userRepository.save(new User("busiest", "busiest@example.com", "password"));
+        User tied = userRepository.save(new User("tied", "tied@example.com", "password"));
+        for (int i = 0; i < 3; i++) {
+            form(busiest, start.plusHours(i));
+        }
+        form(tied, start);
+        form(student, start);
+        form(tied, start.plusHours(1));
+        form(student, start.plusHours(1));
+
+        List<FormReportRepository.StudentCount> top = formReportRepository.findTopStudentsByFormCount(PageRequest.of(0, 2));
+
+        // student and tied both have two forms; the lower id wins the last slot
+        assertEquals(List.of(busiest.getId(), student.getId()),
+            top.stream().map(FormReportRepository.StudentCount::getStudentId).toList());
+        assertEquals(List.of(3L, 2L), top.stream().map(FormReportRepository.StudentCount::getTotal).toList());
+    }
+
+    private Form form(String type, String status, LocalDateTime submitted) {
+        Form form = new Form();
+        form.setStudent(student);
+        form.setType(type);
+        form.setStatus(status);
+        form.setSubmittedDate(submitted);
+        form.setTotalSteps(1);
+        return formRepository.saveAndFlush(form);
+    }
+
+    private Form form(User owner, LocalDateTime submitted) {
+        Form form = form("Leave", "Pending", submitted);
+        form.setStudent(owner);
+        return formRepository.saveAndFlush(form);
+    }
+
+    private Form approved(LocalDateTime submitted, LocalDateTime approvedAt) {
+        Form form = form("Leave", "Approved", submitted);
+        form.setApprovedBy(approver);
+        form.setApprovedDate(approvedAt);
+        return formRepository.saveAndFlush(form);
+    }
+
+    private Form decided(String status, User decidedBy, LocalDateTime decidedAt) {
+        Form form = form("Leave", status, start);
+        form.setApprovedBy(decidedBy);
+        form.setApprovedDate(decidedAt);
+        return formRepository.saveAndFlush(form);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.FormComment;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.repository.FormCommentRepository;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.FormStepDataRepository;
+import com.example.backend.form.service.FormSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FormSearchIndexTest {
+    @Mock
+    private FormRepository formRepository;
+    @Mock
+    private FormStepDataRepository formStepDataRepository;
+    @Mock
+    private FormCommentRepository formCommentRepository;
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+    @InjectMocks
+    private FormSearchIndex formSearchIndex;
+    private Form overload;
+    private Form shifting;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        User student = new User("maria", "maria@example.com", "password");
+        overload = form(1L, "Overload Request", student);
+        shifting = form(2L, "Shifting Request", student);
+        formSearchIndex.formSaved(overload, Map.of("reason", "Graduating this semester", "requestedUnits", 27));
+        formSearchIndex.formSaved(shifting, Map.of("targetCourse", "BS Nursing", "reason", "Career change"));
+    }
+
+    @Test
+    void testSearchRanksAndRequiresEveryTerm() {
+        assertEquals(List.of(2L), ids(formSearchIndex.search("nursing career", 0, 10)));
+        assertEquals(2, formSearchIndex.search("maria", 0, 10).getTotal());
+        // The last term matches as a prefix
+        assertEquals(List.of(1L), ids(formSearchIndex.search("overl", 0, 10)));
+        assertEquals(List.of(), ids(formSearchIndex.search("nursing overload", 0, 10)));
+
+        FormSearchIndex.SearchPage second = formSearchIndex.search("request", 1, 1);
+        assertEquals(2, second.getTotal());
+        assertEquals(1, second.getHits().size());
+    }
+
+    @Test
+    void testWritesUpdateSingleSections() {
+        formSearchIndex.statusChanged(List.of(1L), "Approved");
+        assertEquals(List.of(1L), ids(formSearchIndex.search("approved", 0, 10)));
+        assertEquals(List.of(2L), ids(formSearchIndex.search("pending", 0, 10)));
+
+        formSearchIndex.formDataChanged(2L, Map.of("targetCourse", "BS Accountancy"));
+        assertTrue(formSearchIndex.search("nursing", 0, 10).getHits().isEmpty());
+
+        FormComment comment = new FormComment();
+        comment.setId(5L);
+        comment.setForm(overload);
+        comment.setComment("Missing adviser signature");
+        formSearchIndex.commentAdded(comment);
+        assertEquals(List.of(1L), ids(formSearchIndex.search("signature", 0, 10)));
+
+        FileUpload file = new FileUpload(shifting, null, "x", "transcript-2025.pdf", "application/pdf", 1L, "x", null);
+        file.setId(9L);
+        formSearchIndex.fileAdded(file);
+        assertEquals(List.of(2L), ids(formSearchIndex.search("transcript", 0, 10)));
+        formSearchIndex.fileRemoved(file);
+        assertTrue(formSearchIndex.search("transcript", 0, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void testRebuildKeepsWritesMadeWhileItReads() {
+        User student = overload.getStudent();
+        Form late = form(3L, "Cross Enrollment", student);
+        // The batch is read with form 1 still pending; the approval and a new form
+        // commit before the rebuild swaps its index in
+        FormRepository.SearchSource stale = source(overload, "Pending");
+        when(formRepository.findSearchSources(eq(0L), any())).thenAnswer(call -> {
+            formSearchIndex.statusChanged(1L, "Approved");
+            formSearchIndex.formSaved(late, Map.of("school", "Riverside College"));
+            return List.of(stale, source(shifting, "Pending"));
+        });
+
+        formSearchIndex.rebuild();
+
+        assertEquals(3, formSearchIndex.size());
+        assertEquals(List.of(1L), ids(formSearchIndex.search("approved", 0, 10)));
+        assertEquals(List.of(3L), ids(formSearchIndex.search("riverside", 0, 10)));
+        // Writes after the swap go to the new index
+        formSearchIndex.statusChanged(2L, "Rejected");
+        assertEquals(List.of(2L), ids(formSearchIndex.search("rejected", 0, 10)));
+    }
+
+    private Form form(Long id, String type, User student) {
+        Form form = new Form();
+        form.setId(id);
+        form.setType(type);
+        form.setStatus("Pending");
+        form.setStudent(student);
+        form.setSubmittedDate(LocalDateTime.now());
+        return form;
+    }
+
+    private FormRepository.SearchSource source(Form form, String status) {
+        return new FormRepository.SearchSource() {
+            public Long getId() { return form.getId(); }
+            public String getType() { return form.getType(); }
+            public String getStatus() { return status; }
+            public LocalDateTime getSubmittedDate() { return form.getSubmittedDate(); }
+            public String getFormData() { return null; }
+            public String getStudentName() { return form.getStudent().getUsername(); }
+            public String getStudentEmail() { return form.getStudent().getEmail(); }
+        };
+    }
+
+    private List<Long> ids(FormSearchIndex.SearchPage page) {
+        return page.getHits().stream().map(FormSearchIndex.SearchHit::getFormId).toList();
+    }
+}
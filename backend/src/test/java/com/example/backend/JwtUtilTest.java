@@ -0,0 +1,62 @@
+package com.example.backend;
+
+import com.example.backend.auth.config.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L);
+
+    @Test
+    void testClaimsRoundTrip() {
+        String token = jwtUtil.generateToken("maria@example.com", "Approver", 42L);
+
+        JwtUtil.TokenClaims claims = jwtUtil.validateAndExtract(token).orElseThrow();
+        assertEquals("maria@example.com", claims.email());
+        assertEquals("Approver", claims.role());
+        assertEquals(42L, claims.userId());
+        assertEquals(60_000L, claims.expiration().getTime() - claims.issuedAt().getTime());
+        assertFalse(claims.isExpired());
+
+        // The single-claim helpers read the same token
+        assertEquals("maria@example.com", jwtUtil.extractUsername(token));
+        assertEquals("Approver", jwtUtil.extractRole(token));
+        assertEquals(42L, jwtUtil.extractUserId(token));
+        assertTrue(jwtUtil.validateToken(token, "maria@example.com"));
+        assertFalse(jwtUtil.validateToken(token, "someone@example.com"));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        JwtUtil expiring = new JwtUtil(SECRET, -1_000L);
+        String token = expiring.generateToken("maria@example.com", "Student", 7L);
+
+        assertEquals(Optional.empty(), expiring.validateAndExtract(token));
+        assertFalse(expiring.validateToken(token));
+        assertTrue(expiring.isTokenExpired(token));
+    }
+
+    @Test
+    void testBadSignatureIsRejected() {
+        JwtUtil other = new JwtUtil("fedcba9876543210fedcba9876543210fedcba9876543210", 60_000L);
+        String forged = other.generateToken("maria@example.com", "Admin", 1L);
+
+        assertEquals(Optional.empty(), jwtUtil.validateAndExtract(forged));
+        assertFalse(jwtUtil.validateToken(forged, "maria@example.com"));
+
+        // Same header and payload, signature bytes altered
+        String token = jwtUtil.generateToken("maria@example.com", "Student", 7L);
+        int dot = token.lastIndexOf('.');
+        char first = token.charAt(dot + 1);
+        String tampered = token.substring(0, dot + 1) + (first == 'A' ? 'B' : 'A') + token.substring(dot + 2);
+        assertEquals(Optional.empty(), jwtUtil.validateAndExtract(tampered));
+
+        assertEquals(Optional.empty(), jwtUtil.validateAndExtract("not-a-token"));
+        assertThrows(RuntimeException.class, () -> jwtUtil.extractUsername(forged));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import com.example.backend.form.service.NotificationCounterCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationCounterCacheTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+    @InjectMocks
+    private NotificationCounterCache notificationCounterCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(notificationCounterCache, "maxEntries", 100);
+        user = new User();
+        user.setId(3L);
+        user.setRole(User.Role.Student);
+        when(notificationRepository.countByStatusForUser(3L)).thenReturn(List.of(
+                row(Notification.NotificationStatus.UNREAD, 2),
+                row(Notification.NotificationStatus.READ, 5)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCountsLoadedOnceAndKeptByChanges() {
+        assertEquals(2, notificationCounterCache.get(user).getUnread());
+
+        notificationCounterCache.changed(3L, null, Notification.NotificationStatus.UNREAD);
+        notificationCounterCache.changed(3L, Notification.NotificationStatus.UNREAD, Notification.NotificationStatus.ARCHIVED);
+        notificationCounterCache.changed(3L, Notification.NotificationStatus.UNREAD, Notification.NotificationStatus.READ, 2);
+        notificationCounterCache.createdForRole(User.Role.Student);
+        notificationCounterCache.createdForRole(User.Role.Approver);
+
+        NotificationCounterCache.Counts counts = notificationCounterCache.get(user);
+        assertEquals(1, counts.getUnread());
+        assertEquals(7, counts.getRead());
+        assertEquals(1, counts.getArchived());
+        verify(notificationRepository, times(1)).countByStatusForUser(3L);
+    }
+
+    @Test
+    void testChangeAppliedOnlyOnCommitAndBlocksCachingWhileInFlight() {
+        TransactionSynchronizationManager.initSynchronization();
+        notificationCounterCache.changed(3L, null, Notification.NotificationStatus.UNREAD);
+
+        // In flight: counts come from the database and are not cached
+        notificationCounterCache.get(user);
+        notificationCounterCache.get(user);
+        verify(notificationRepository, times(2)).countByStatusForUser(3L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(2, notificationCounterCache.get(user).getUnread());
+        assertEquals(2, notificationCounterCache.get(user).getUnread());
+        verify(notificationRepository, times(3)).countByStatusForUser(3L);
+    }
+
+    private static NotificationRepository.StatusCount row(Notification.NotificationStatus status, long count) {
+        return new NotificationRepository.StatusCount() {
+            public Notification.NotificationStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+}
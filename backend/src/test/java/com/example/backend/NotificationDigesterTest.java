@@ -0,0 +1,150 @@
+package com.example.backend;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import com.example.backend.form.service.NotificationCounterCache;
+import com.example.backend.form.service.NotificationDigester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationDigesterTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationCounterCache notificationCounterCache;
+    @InjectMocks
+    private NotificationDigester notificationDigester;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(notificationDigester, "windowMinutes", 60L);
+        ReflectionTestUtils.setField(notificationDigester, "digestTypes", "NEW_FORM_SUBMISSION, DEADLINE_REMINDER");
+        notificationDigester.init();
+        user = new User();
+        user.setId(7L);
+    }
+
+    @Test
+    void testWindowsAreAlignedAndOnlyForDigestTypes() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 42, 13);
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0), notificationDigester.windowOf("NEW_FORM_SUBMISSION", at));
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0),
+            notificationDigester.windowOf("DEADLINE_REMINDER", LocalDateTime.of(2024, 5, 1, 10, 59, 59)));
+        assertNull(notificationDigester.windowOf("system", at));
+        assertTrue(notificationDigester.isDigested("NEW_FORM_SUBMISSION"));
+        assertFalse(notificationDigester.isDigested("system"));
+    }
+
+    @Test
+    void testStudentDecisionTypesAreNeverDigested() {
+        // Each decision carries its own form and reason; a fold would keep only the last
+        ReflectionTestUtils.setField(notificationDigester, "digestTypes", "NEW_FORM_SUBMISSION, FORM_REJECTED, rejection");
+        notificationDigester.init();
+        assertTrue(notificationDigester.isDigested("NEW_FORM_SUBMISSION"));
+        assertFalse(notificationDigester.isDigested("FORM_REJECTED"));
+        assertFalse(notificationDigester.isDigested("rejection"));
+
+        Notification rejection = notification("FORM_REJECTED", "f1", LocalDateTime.of(2024, 5, 1, 10, 5));
+        assertNull(notificationDigester.add(rejection));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testFirstNotificationOpensDigest() {
+        Notification notification = notification("NEW_FORM_SUBMISSION", "f1", LocalDateTime.of(2024, 5, 1, 10, 5));
+        when(notificationRepository.findDigests(any(), any(), any())).thenReturn(List.of());
+        when(notificationRepository.save(notification)).thenReturn(notification);
+
+        assertSame(notification, notificationDigester.add(notification));
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0), notification.getDigestWindow());
+        assertEquals(1, notification.getDigestCount());
+        assertEquals("f1", notification.getRelatedFormIds());
+        verify(notificationCounterCache).changed(7L, null, Notification.NotificationStatus.UNREAD);
+    }
+
+    @Test
+    void testLaterNotificationIsFoldedAndReopensDigest() {
+        Notification notification = notification("NEW_FORM_SUBMISSION", "f2", LocalDateTime.of(2024, 5, 1, 10, 20));
+        when(notificationRepository.findDigests(any(), any(), any()))
+            .thenReturn(List.of(digest(40L, "NEW_FORM_SUBMISSION", Notification.NotificationStatus.READ)));
+
+        notificationDigester.add(notification);
+
+        // Only the new id is passed; the repository appends it in SQL
+        verify(notificationRepository).addToDigest(40L, 1, "f2", notification);
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationCounterCache).changed(7L, Notification.NotificationStatus.READ,
+            Notification.NotificationStatus.UNREAD);
+    }
+
+    @Test
+    void testUndigestedTypeIsLeftToCaller() {
+        assertNull(notificationDigester.add(notification("system", null, LocalDateTime.now())));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testBatchIsGroupedPerUserTypeAndWindow() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 5);
+        Notification system = notification("system", null, at);
+        Notification first = notification("NEW_FORM_SUBMISSION", "f1", at);
+        Notification second = notification("NEW_FORM_SUBMISSION", "f2", at.plusMinutes(1));
+        Notification rejection = notification("DEADLINE_REMINDER", "f3", at);
+        when(notificationRepository.findDigests(any(), any(), any()))
+            .thenReturn(List.of(digest(50L, "DEADLINE_REMINDER", Notification.NotificationStatus.UNREAD)));
+
+        List<Notification> toInsert = notificationDigester.addAll(List.of(system, first, second, rejection));
+
+        // The system notification as is, and one new approval digest standing for both
+        assertEquals(List.of(system, second), toInsert);
+        assertEquals(2, second.getDigestCount());
+        assertEquals("f1,f2", second.getRelatedFormIds());
+        verify(notificationRepository).addToDigest(50L, 1, "f3", rejection);
+        verify(notificationRepository, times(1)).findDigests(any(), any(), any());
+        verify(notificationCounterCache, never()).changed(any(), any(), any());
+    }
+
+    @Test
+    void testFormIdsStopAtColumnLength() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 5);
+        Notification big = notification("NEW_FORM_SUBMISSION", "x".repeat(Notification.MAX_RELATED_FORM_IDS_LENGTH - 2), at);
+        Notification next = notification("NEW_FORM_SUBMISSION", "f9", at.plusMinutes(1));
+        when(notificationRepository.findDigests(any(), any(), any())).thenReturn(List.of());
+
+        List<Notification> toInsert = notificationDigester.addAll(List.of(big, next));
+
+        assertEquals(2, toInsert.get(0).getDigestCount());
+        assertEquals(big.getRelatedFormId(), toInsert.get(0).getRelatedFormIds());
+    }
+
+    private Notification notification(String type, String formId, LocalDateTime createdAt) {
+        Notification notification = new Notification(user, "title", "msg", type);
+        notification.setRelatedFormId(formId);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    private NotificationRepository.DigestRow digest(Long id, String type, Notification.NotificationStatus status) {
+        return new NotificationRepository.DigestRow() {
+            public Long getId() { return id; }
+            public Long getUserId() { return user.getId(); }
+            public String getType() { return type; }
+            public Notification.NotificationStatus getStatus() { return status; }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.backend;
+
+import com.example.backend.form.model.KeysetCursor;
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import com.example.backend.form.service.NotificationPushService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class NotificationPushServiceTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+    @InjectMocks
+    private NotificationPushService notificationPushService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(notificationPushService, "streamTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(notificationPushService, "replayLimit", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationPushService.shutdown();
+    }
+
+    @Test
+    void testSubscribeReplaysAfterLastEventPosition() {
+        User user = user(7L, User.Role.Student);
+        LocalDateTime seen = LocalDateTime.of(2026, 3, 2, 9, 15);
+        // A digest folded into after the client's position comes back under a newer id
+        NotificationRepository.NotificationView digest = view(12L, seen.minusHours(1), seen.plusMinutes(5), 3);
+        when(notificationRepository.findViewsActiveAfter(eq(7L), eq(seen.minusSeconds(1)), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(digest));
+
+        SseEmitter emitter = notificationPushService.subscribe(user, new KeysetCursor(seen, 41L).encode(), 3);
+
+        assertEquals(1, notificationPushService.connectionCount());
+        String sent = sent(emitter);
+        assertTrue(sent.contains("event:ready"));
+        assertTrue(sent.contains("id:" + new KeysetCursor(seen.plusMinutes(5), 12L).encode()));
+        assertFalse(sent.contains("event:reset"));
+        verify(notificationRepository).findViewsActiveAfter(eq(7L), eq(seen.minusSeconds(1)), eq(0L),
+            eq(PageRequest.of(0, 101)));
+    }
+
+    @Test
+    void testTruncatedReplaySendsReset() {
+        ReflectionTestUtils.setField(notificationPushService, "replayLimit", 2);
+        User user = user(7L, User.Role.Student);
+        LocalDateTime seen = LocalDateTime.of(2026, 3, 2, 9, 15);
+        List<NotificationRepository.NotificationView> missed =
+            List.of(view(1L, seen, seen, 1), view(2L, seen, seen, 1), view(3L, seen, seen, 1));
+        when(notificationRepository.findViewsActiveAfter(eq(7L), any(), eq(0L), any(Pageable.class))).thenReturn(missed);
+
+        String sent = sent(notificationPushService.subscribe(user, new KeysetCursor(seen, 41L).encode(), 3));
+
+        assertTrue(sent.contains("event:reset"));
+        assertFalse(sent.contains("event:notification"));
+    }
+
+    @Test
+    void testUnreadableLastEventIdSendsReset() {
+        User user = user(7L, User.Role.Student);
+
+        // A plain notification id from before positions were used
+        String sent = sent(notificationPushService.subscribe(user, "41", 3));
+
+        assertTrue(sent.contains("event:reset"));
+        verify(notificationRepository, never()).findViewsActiveAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSubscribeWithoutLastEventIdSkipsReplay() {
+        User user = user(8L, User.Role.Approver);
+
+        notificationPushService.subscribe(user, null, 0);
+        notificationPushService.subscribe(user, null, 0);
+
+        assertEquals(2, notificationPushService.connectionCount());
+        verify(notificationRepository, never()).findViewsActiveAfter(any(), any(), any(), any());
+    }
+
+    private static User user(Long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    // Events sent before the response started, as SseEmitter buffered them
+    private static String sent(SseEmitter emitter) {
+        Collection<?> early = (Collection<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        StringBuilder text = new StringBuilder();
+        for (Object attempt : early) {
+            text.append(ReflectionTestUtils.invokeMethod(attempt, "getData").toString());
+        }
+        return text.toString();
+    }
+
+    private static NotificationRepository.NotificationView view(Long id, LocalDateTime createdAt,
+                                                                LocalDateTime lastActivityAt, int digestCount) {
+        NotificationRepository.NotificationView view = mock(NotificationRepository.NotificationView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getUserId()).thenReturn(7L);
+        when(view.getCreatedAt()).thenReturn(createdAt);
+        when(view.getLastActivityAt()).thenReturn(lastActivityAt);
+        when(view.getDigestCount()).thenReturn(digestCount);
+        when(view.getStatus()).thenReturn(Notification.NotificationStatus.UNREAD);
+        return view;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.backend;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.NotificationRepository;
+import com.example.backend.form.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class NotificationRepositoryTest {
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDateTime window = LocalDateTime.of(2026, 3, 2, 10, 0);
+    private User approver;
+
+    @BeforeEach
+    void setUp() {
+        approver = userRepository.save(new User("approver", "approver@example.com", "password", User.Role.Approver));
+    }
+
+    @Test
+    void testFoldsAppendIdsInTheSameUpdateAsTheCount() {
+        Notification digest = digest("F1");
+
+        // Two folds that each saw the digest before the other: neither id is lost
+        notificationRepository.addToDigest(digest.getId(), 1, "F2", latest("F2", window.plusMinutes(5)));
+        notificationRepository.addToDigest(digest.getId(), 2, "F3,F4", latest("F4", window.plusMinutes(6)));
+        entityManager.clear();
+
+        Notification folded = notificationRepository.findById(digest.getId()).orElseThrow();
+        assertEquals(4, folded.getDigestCount());
+        assertEquals("F1,F2,F3,F4", folded.getRelatedFormIds());
+        assertEquals("F4", folded.getRelatedFormId());
+        assertEquals(Notification.NotificationStatus.UNREAD, folded.getStatus());
+        // The row keeps its keyset position; the fold is recorded separately
+        assertEquals(window.plusMinutes(1), folded.getCreatedAt());
+        assertEquals(window.plusMinutes(6), folded.getLastActivityAt());
+    }
+
+    @Test
+    void testArchivedDigestIsLeftAloneAndANewOneOpens() {
+        Notification archived = digest("F1");
+        archived.setStatus(Notification.NotificationStatus.ARCHIVED);
+        notificationRepository.saveAndFlush(archived);
+
+        assertTrue(notificationRepository.findDigests(List.of(approver.getId()), List.of("NEW_FORM_SUBMISSION"), window).isEmpty());
+        notificationRepository.addToRoleDigests(User.Role.Approver, "t", "m", "NEW_FORM_SUBMISSION", "F2", window.plusMinutes(5), window);
+        notificationRepository.insertRoleDigests(User.Role.Approver, "t", "m", "NEW_FORM_SUBMISSION", "F2", window.plusMinutes(5), window);
+        entityManager.clear();
+
+        Notification untouched = notificationRepository.findById(archived.getId()).orElseThrow();
+        assertEquals(Notification.NotificationStatus.ARCHIVED, untouched.getStatus());
+        assertEquals(1, untouched.getDigestCount());
+        assertEquals(1, notificationRepository.findDigests(List.of(approver.getId()), List.of("NEW_FORM_SUBMISSION"), window).size());
+    }
+
+    @Test
+    void testFullIdListStopsGrowingButCountContinues() {
+        Notification digest = digest("x".repeat(Notification.MAX_RELATED_FORM_IDS_LENGTH - 2));
+
+        notificationRepository.addToDigest(digest.getId(), 1, "F2", latest("F2", window.plusMinutes(5)));
+        notificationRepository.addToDigest(digest.getId(), 1, null, latest(null, window.plusMinutes(6)));
+        entityManager.clear();
+
+        Notification folded = notificationRepository.findById(digest.getId()).orElseThrow();
+        assertEquals(3, folded.getDigestCount());
+        assertEquals(digest.getRelatedFormIds(), folded.getRelatedFormIds());
+    }
+
+    @Test
+    void testRoleFoldWithoutFormIdKeepsIdList() {
+        Notification digest = digest("F1");
+
+        notificationRepository.addToRoleDigests(User.Role.Approver, "t", "m", "NEW_FORM_SUBMISSION", null,
+            window.plusMinutes(5), window);
+        entityManager.clear();
+
+        Notification folded = notificationRepository.findById(digest.getId()).orElseThrow();
+        assertEquals(2, folded.getDigestCount());
+        assertEquals("F1", folded.getRelatedFormIds());
+    }
+
+    @Test
+    void testReplayAfterPositionIncludesFoldsIntoOlderDigests() {
+        Notification digest = digest("F1");
+        Notification plain = notificationRepository.saveAndFlush(latest("F2", window.plusMinutes(2)));
+        assertEquals(window.plusMinutes(2), plain.getLastActivityAt());
+
+        // The client has seen the plain row; the older digest then takes a fold
+        notificationRepository.addToDigest(digest.getId(), 1, "F3", latest("F3", window.plusMinutes(6)));
+        entityManager.clear();
+
+        List<NotificationRepository.NotificationView> missed = notificationRepository.findViewsActiveAfter(
+            approver.getId(), window.plusMinutes(2), plain.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(digest.getId()), missed.stream().map(NotificationRepository.NotificationView::getId).toList());
+        assertTrue(notificationRepository.findViewsActiveAfter(
+            approver.getId(), window.plusMinutes(6), digest.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private Notification digest(String relatedFormIds) {
+        Notification digest = new Notification(approver, "title", "msg", "NEW_FORM_SUBMISSION");
+        digest.setCreatedAt(window.plusMinutes(1));
+        digest.setStatus(Notification.NotificationStatus.READ);
+        digest.setDigestWindow(window);
+        digest.setDigestCount(1);
+        digest.setRelatedFormIds(relatedFormIds);
+        return notificationRepository.saveAndFlush(digest);
+    }
+
+    private Notification latest(String formId, LocalDateTime createdAt) {
+        Notification notification = new Notification(approver, "latest", "msg", "NEW_FORM_SUBMISSION");
+        notification.setRelatedFormId(formId);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backend;
+
+import com.example.backend.form.model.Notification;
+import com.example.backend.form.service.NotificationCounterCache;
+import com.example.backend.form.service.NotificationRetentionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationRetentionServiceTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private NotificationCounterCache notificationCounterCache;
+    @InjectMocks
+    private NotificationRetentionService notificationRetentionService;
+
+    @TempDir
+    Path archiveDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(notificationRetentionService, "defaultDays", 30);
+        ReflectionTestUtils.setField(notificationRetentionService, "typeDays", "approval=180, system=0");
+        ReflectionTestUtils.setField(notificationRetentionService, "chunkSize", 2);
+        ReflectionTestUtils.setField(notificationRetentionService, "pauseMs", 0L);
+        ReflectionTestUtils.setField(notificationRetentionService, "maxRunMinutes", 5L);
+        ReflectionTestUtils.setField(notificationRetentionService, "archiveDir", archiveDir.toString());
+        notificationRetentionService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRetentionService.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testRunArchivesEachChunkBeforeDeletingIt() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(row(1L, 10L, "approval", old), row(2L, 11L, "approval", old)))
+            .thenReturn(List.of(row(3L, 10L, "approval", old)))
+            .thenReturn(List.of());
+        when(jdbcTemplate.update(startsWith("DELETE FROM notifications"), any(Object[].class))).thenReturn(2, 1);
+
+        NotificationRetentionService.RetentionStatus status = notificationRetentionService.runNow();
+
+        assertFalse(status.isRunning());
+        assertNull(status.getError());
+        assertEquals(2, status.getChunks());
+        assertEquals(3, status.getArchived());
+        assertEquals(3, status.getDeleted());
+        verify(notificationCounterCache, times(2)).evict(10L);
+        verify(notificationCounterCache).evict(11L);
+
+        // One gzip member per chunk; read back as one stream
+        Path archive = Path.of(status.getArchiveFile());
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("\"id\":3"));
+
+        // The "system=0" policy keeps system notifications, so only approval and the
+        // default policy are queried; the default excludes both configured types
+        verify(jdbcTemplate).query(contains("type NOT IN (?, ?)"), any(RowMapper.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testEachChunkSeeksPastTheLastRowRead() {
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(row(1L, 10L, "approval", old), row(2L, 11L, "approval", old.plusMinutes(1))))
+            .thenReturn(List.of());
+        // Neither row is deleted, e.g. both were touched since they were read; the
+        // next chunk still moves on instead of reading them again
+        when(jdbcTemplate.update(startsWith("DELETE FROM notifications"), any(Object[].class))).thenReturn(0);
+
+        notificationRetentionService.runNow();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(3)).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertFalse(sql.getAllValues().get(0).contains("id > ?"));
+        assertTrue(sql.getAllValues().get(1).contains("AND (created_at > ? OR (created_at = ? AND id > ?)) AND type = ?"));
+        Object[] seek = args.getAllValues().get(1);
+        assertEquals(Timestamp.valueOf(old.plusMinutes(1)), seek[1]);
+        assertEquals(Timestamp.valueOf(old.plusMinutes(1)), seek[2]);
+        assertEquals(2L, seek[3]);
+        assertEquals("approval", seek[4]);
+        // The default policy starts again from the oldest row
+        assertFalse(sql.getAllValues().get(2).contains("id > ?"));
+    }
+
+    @Test
+    void testInvalidPolicyIsRejected() {
+        ReflectionTestUtils.setField(notificationRetentionService, "typeDays", "approval");
+        assertThrows(IllegalArgumentException.class, () -> notificationRetentionService.init());
+    }
+
+    private static NotificationRetentionService.ExpiredNotification row(Long id, Long userId, String type,
+                                                                        LocalDateTime createdAt) {
+        return new NotificationRetentionService.ExpiredNotification(id, userId, "title", "msg", type,
+            Notification.NotificationStatus.READ, createdAt, createdAt, null, null, null, null, null, null);
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.backend;
 
+import com.example.backend.form.model.CursorPage;
+import com.example.backend.form.model.KeysetCursor;
 import com.example.backend.form.model.Notification;
+import com.example.backend.form.model.NotificationSummary;
 import com.example.backend.form.model.User;
 import com.example.backend.form.repository.NotificationRepository;
 import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.NotificationCounterCache;
+import com.example.backend.form.service.NotificationDigester;
+import com.example.backend.form.service.NotificationPushService;
 import com.example.backend.form.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +17,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class NotificationServiceTest {
@@ -21,6 +36,12 @@ public class NotificationServiceTest {
     private NotificationRepository notificationRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private NotificationPushService notificationPushService;
+    @Mock
+    private NotificationCounterCache notificationCounterCache;
+    @Mock
+    private NotificationDigester notificationDigester;
     @InjectMocks
     private NotificationService notificationService;
 
@@ -37,6 +58,21 @@ public class NotificationServiceTest {
         Notification result = notificationService.createNotification(user, "title", "msg", "type");
         assertNotNull(result);
         assertEquals("title", result.getTitle());
+        verify(notificationPushService).publish(notification);
+    }
+
+    @Test
+    void testDigestedNotificationIsNotSavedAgain() {
+        User user = new User();
+        user.setId(4L);
+        Notification digest = new Notification(user, "title", "msg", "NEW_FORM_SUBMISSION");
+        digest.setDigestCount(3);
+        when(notificationDigester.add(any(Notification.class))).thenReturn(digest);
+        Notification result = notificationService.createNotification(user, "title", "msg", "NEW_FORM_SUBMISSION");
+        assertSame(digest, result);
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationCounterCache, never()).changed(any(), any(), any());
+        verify(notificationPushService).publish(digest);
     }
 
     @Test
@@ -58,5 +94,62 @@ public class NotificationServiceTest {
         assertNotNull(notificationService.getUserNotifications(user));
     }
 
+    @Test
+    void testGetNotificationPageReturnsCursorToLastRow() {
+        User user = new User();
+        user.setId(4L);
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationSummary> rows = List.of(summary(9L, now), summary(8L, now), summary(7L, now.minusMinutes(1)));
+        when(notificationRepository.findSummaries(4L, Notification.NotificationStatus.UNREAD, null, null, 3))
+            .thenReturn(rows);
+
+        CursorPage<NotificationSummary> page = notificationService.getNotificationPage(user, "unread", "", null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(8L, cursor.getId());
+        assertEquals(now, cursor.getTimestamp());
+        assertThrows(RuntimeException.class, () -> notificationService.getNotificationPage(user, "unknown", null, null, 2));
+        verify(notificationRepository, never()).findSummaries(eq(4L), isNull(), any(), any(), anyInt());
+    }
+
+    private static NotificationSummary summary(Long id, LocalDateTime createdAt) {
+        return new NotificationSummary(id, 4L, "title", "msg", "system", Notification.NotificationStatus.UNREAD,
+            createdAt, null, null, null, null, null, null);
+    }
+
+    @Test
+    void testConcurrentMarkAsReadIsCountedOnce() throws Exception {
+        User user = new User();
+        user.setId(4L);
+        AtomicReference<Notification.NotificationStatus> stored = new AtomicReference<>(Notification.NotificationStatus.UNREAD);
+        when(notificationRepository.findById(9L)).thenAnswer(invocation -> {
+            Notification notification = new Notification(user, "title", "msg", "system");
+            notification.setId(9L);
+            notification.setStatus(stored.get());
+            return Optional.of(notification);
+        });
+        // Both calls have read the row as UNREAD before either updates it
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        when(notificationRepository.markAsReadIf(eq(9L), any(), any())).thenAnswer(invocation -> {
+            bothRead.await(5, TimeUnit.SECONDS);
+            return stored.compareAndSet(invocation.getArgument(1), Notification.NotificationStatus.READ) ? 1 : 0;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Notification> first = pool.submit(() -> notificationService.markAsRead(9L));
+            Future<Notification> second = pool.submit(() -> notificationService.markAsRead(9L));
+            assertEquals(Notification.NotificationStatus.READ, first.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(Notification.NotificationStatus.READ, second.get(5, TimeUnit.SECONDS).getStatus());
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(notificationRepository, times(2)).markAsReadIf(eq(9L), eq(Notification.NotificationStatus.UNREAD), any());
+        verify(notificationCounterCache, times(1)).changed(4L, Notification.NotificationStatus.UNREAD,
+            Notification.NotificationStatus.READ);
+    }
+
     // Add more tests for markAsRead, markAllAsRead, etc.
 } 
\ No newline at end of file
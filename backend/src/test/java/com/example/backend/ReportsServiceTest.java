@@ -0,0 +1,80 @@
+package com.example.backend;
+
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FormReportRepository;
+import com.example.backend.form.repository.FormRepository;
+import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.AuditService;
+import com.example.backend.form.service.FileUploadService;
+import com.example.backend.form.service.ReportsService;
+import com.example.backend.form.service.StatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReportsServiceTest {
+    @Mock
+    private FormRepository formRepository;
+    @Mock
+    private FormReportRepository formReportRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private FileUploadService fileUploadService;
+    @Mock
+    private StatisticsService statisticsService;
+    @InjectMocks
+    private ReportsService reportsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMostActiveUsersKeepCountOrderWhateverOrderUsersLoadIn() {
+        User first = user(7L, "first");
+        User second = user(3L, "second");
+        User third = user(5L, "third");
+        when(formReportRepository.findTopStudentsByFormCount(any())).thenReturn(List.of(
+            count(first, 9), count(second, 4), count(third, 1)));
+        // findAllById makes no ordering promise; hand the users back shuffled
+        when(userRepository.findAllById(List.of(7L, 3L, 5L))).thenReturn(List.of(second, third, first));
+        when(formReportRepository.countFormsPerUser()).thenReturn(List.of(count(first, 9), count(user(8L, "idle"), 0)));
+
+        Map<String, Object> stats = reportsService.getUserActivityStatistics();
+
+        List<Map<String, Object>> mostActive = (List<Map<String, Object>>) stats.get("mostActiveUsers");
+        assertEquals(List.of("first@example.com", "second@example.com", "third@example.com"),
+            mostActive.stream().map(row -> row.get("email")).toList());
+        assertEquals(List.of(9L, 4L, 1L), mostActive.stream().map(row -> row.get("formCount")).toList());
+        assertEquals(Map.of("first@example.com", 9L, "idle@example.com", 0L), stats.get("userFormCounts"));
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User(name, name + "@example.com", "password");
+        user.setId(id);
+        return user;
+    }
+
+    private static FormReportRepository.StudentCount count(User user, long total) {
+        return new FormReportRepository.StudentCount() {
+            public Long getStudentId() { return user.getId(); }
+            public String getEmail() { return user.getEmail(); }
+            public long getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.backend;
+
+import com.example.backend.form.model.StatisticCounter;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.AuditLogRepository;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.repository.FormReportRepository;
+import com.example.backend.form.repository.StatisticCounterRepository;
+import com.example.backend.form.repository.UserRepository;
+import com.example.backend.form.service.StatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class StatisticsServiceTest {
+    @Mock
+    private FormReportRepository formReportRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+    @Mock
+    private AuditLogRepository auditLogRepository;
+    @Mock
+    private StatisticCounterRepository statisticCounterRepository;
+    @InjectMocks
+    private StatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testFormCountersFollowStatusChanges() {
+        statisticsService.formCreated("Pending");
+        statisticsService.formCreated("Pending");
+        statisticsService.formStatusChanged("Pending", "Approved");
+
+        assertEquals(2, statisticsService.getFormTotal());
+        assertEquals(1, statisticsService.getFormCount("Pending"));
+        assertEquals(1, statisticsService.getFormCount("APPROVED"));
+        assertEquals(0, statisticsService.getFormCount("Rejected"));
+    }
+
+    @Test
+    void testRebuildReplacesCountersFromDatabase() {
+        statisticsService.formCreated("Rejected");
+
+        FormReportRepository.StatusCount pending = mock(FormReportRepository.StatusCount.class);
+        when(pending.getStatus()).thenReturn("Pending");
+        when(pending.getTotal()).thenReturn(3L);
+        when(formReportRepository.countGroupedByStatus()).thenReturn(List.of(pending));
+        FileUploadRepository.FileTotals files = mock(FileUploadRepository.FileTotals.class);
+        when(files.getFileCount()).thenReturn(2L);
+        when(files.getTotalSize()).thenReturn(2048L);
+        when(fileUploadRepository.sumActiveFiles()).thenReturn(files);
+        UserRepository.RoleCount students = mock(UserRepository.RoleCount.class);
+        when(students.getRole()).thenReturn(User.Role.Student);
+        when(students.getTotal()).thenReturn(5L);
+        when(userRepository.countGroupedByRole()).thenReturn(List.of(students));
+
+        statisticsService.rebuild();
+
+        assertEquals(3, statisticsService.getFormTotal());
+        assertEquals(3, statisticsService.getFormCount("Pending"));
+        assertEquals(0, statisticsService.getFormCount("Rejected"));
+        assertEquals(2048, statisticsService.getFileTotalSize());
+        assertEquals(5, statisticsService.getUserCount(User.Role.Student));
+        assertEquals(5, statisticsService.getUserTotal());
+    }
+
+    @Test
+    void testSeedAddsSnapshotToChangesSinceStartup() {
+        when(statisticCounterRepository.findAll()).thenReturn(List.of(
+            new StatisticCounter("forms.total", 10, LocalDateTime.now()),
+            new StatisticCounter("forms.status.PENDING", 4, LocalDateTime.now())));
+        statisticsService.formCreated("Pending");
+
+        statisticsService.seed();
+
+        assertEquals(11, statisticsService.getFormTotal());
+        assertEquals(5, statisticsService.getFormCount("Pending"));
+        // No base-table scan until the reconcile
+        verifyNoInteractions(formReportRepository);
+    }
+
+    @Test
+    void testRebuildKeepsChangesMadeWhileItsQueryRuns() {
+        FormReportRepository.StatusCount pending = mock(FormReportRepository.StatusCount.class);
+        when(pending.getStatus()).thenReturn("Pending");
+        when(pending.getTotal()).thenReturn(3L);
+        when(formReportRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            // Commits after the query read its rows
+            statisticsService.formCreated("Pending");
+            return List.of(pending);
+        });
+        FileUploadRepository.FileTotals files = mock(FileUploadRepository.FileTotals.class);
+        when(fileUploadRepository.sumActiveFiles()).thenReturn(files);
+        statisticsService.auditLogged("LOGIN");
+
+        statisticsService.rebuild();
+
+        assertEquals(4, statisticsService.getFormTotal());
+        assertEquals(4, statisticsService.getFormCount("Pending"));
+        // Changes before the audit query are covered by it, not added again
+        assertEquals(0, statisticsService.getAuditTotal());
+    }
+
+    @Test
+    void testFlushWritesOnlyWhenChanged() {
+        statisticsService.flush();
+        verify(statisticCounterRepository, never()).saveAll(anyList());
+
+        statisticsService.auditLogged("LOGIN");
+        statisticsService.flush();
+        verify(statisticCounterRepository, times(1)).saveAll(anyList());
+    }
+}
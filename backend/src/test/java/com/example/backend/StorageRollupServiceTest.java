@@ -0,0 +1,67 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FileUpload;
+import com.example.backend.form.model.Form;
+import com.example.backend.form.model.User;
+import com.example.backend.form.repository.FileUploadRepository;
+import com.example.backend.form.service.StorageRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StorageRollupServiceTest {
+    @Mock
+    private FileUploadRepository fileUploadRepository;
+    @InjectMocks
+    private StorageRollupService storageRollupService;
+
+    private Form form;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        form = new Form();
+        form.setId(7L);
+        user = new User("student", "student@example.com", "password");
+        user.setId(3L);
+    }
+
+    @Test
+    void testUploadsAndDeletesAdjustEveryScope() {
+        FileUpload pdf = new FileUpload(form, user, "a", "a.pdf", "application/pdf", 100L, "a", null);
+        FileUpload png = new FileUpload(form, user, "b", "b.png", "image/png", 40L, "b", null);
+        storageRollupService.fileAdded(pdf);
+        storageRollupService.fileAdded(png);
+        storageRollupService.fileRemoved(pdf);
+
+        assertEquals(1, storageRollupService.getTotals(StorageRollupService.Scope.FORM, 7L).getFileCount());
+        assertEquals(40, storageRollupService.getTotals(StorageRollupService.Scope.USER, 3L).getTotalSize());
+        assertEquals(List.of("image/png"),
+            List.copyOf(storageRollupService.getAll(StorageRollupService.Scope.MIME).keySet()));
+    }
+
+    @Test
+    void testReconcileReplacesRollupWithDatabaseTotals() {
+        storageRollupService.fileAdded(new FileUpload(form, user, "a", "a.pdf", "application/pdf", 100L, "a", null));
+
+        FileUploadRepository.ScopeTotals row = mock(FileUploadRepository.ScopeTotals.class);
+        when(row.getScopeKey()).thenReturn("9");
+        when(row.getFileCount()).thenReturn(2L);
+        when(row.getTotalSize()).thenReturn(500L);
+        when(fileUploadRepository.sumActiveFilesByForm()).thenReturn(List.of(row));
+
+        storageRollupService.reconcile();
+
+        assertEquals(0, storageRollupService.getTotals(StorageRollupService.Scope.FORM, 7L).getFileCount());
+        assertEquals(500, storageRollupService.getTotals(StorageRollupService.Scope.FORM, 9L).getTotalSize());
+        assertTrue(storageRollupService.getAll(StorageRollupService.Scope.USER).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend;
+
+import com.example.backend.form.model.FormTemplate;
+import com.example.backend.form.repository.FormTemplateRepository;
+import com.example.backend.form.service.TemplateCatalog;
+import com.example.backend.form.service.TemplateValidatorCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TemplateCatalogTest {
+    @Mock
+    private FormTemplateRepository formTemplateRepository;
+    @Spy
+    private TemplateValidatorCache templateValidatorCache = new TemplateValidatorCache();
+    @InjectMocks
+    private TemplateCatalog templateCatalog;
+
+    private FormTemplate open;
+    private FormTemplate nursing;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        open = template(1L, "Petition Form", null);
+        nursing = template(2L, "Clinical Duty Waiver", "[\"Nursing\"]");
+        when(formTemplateRepository.findByIsActiveTrue()).thenReturn(List.of(open, nursing));
+    }
+
+    @Test
+    void testLoadsOnceAndIndexesDepartments() {
+        assertEquals(List.of(open, nursing), templateCatalog.getActiveTemplates());
+        assertEquals(List.of(open, nursing), templateCatalog.getTemplatesForDepartment("Nursing"));
+        assertEquals(List.of(open), templateCatalog.getTemplatesForDepartment("Computer Science"));
+        assertSame(nursing, templateCatalog.findActive(2L).orElseThrow());
+
+        verify(formTemplateRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void testInvalidateReloadsAndChangesVersion() {
+        String version = templateCatalog.getVersion();
+        assertEquals(version, templateCatalog.getVersion());
+
+        when(formTemplateRepository.findByIsActiveTrue()).thenReturn(List.of(open));
+        templateCatalog.invalidate();
+
+        assertNotEquals(version, templateCatalog.getVersion());
+        assertTrue(templateCatalog.findActive(2L).isEmpty());
+        verify(formTemplateRepository, times(2)).findByIsActiveTrue();
+    }
+
+    private FormTemplate template(Long id, String name, String departments) {
+        FormTemplate template = new FormTemplate();
+        template.setId(id);
+        template.setName(name);
+        template.setDepartmentRestricted(departments != null);
+        template.setAllowedDepartments(departments);
+        return template;
+    }
+}
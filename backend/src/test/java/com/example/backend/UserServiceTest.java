@@ -1,8 +1,11 @@
 package com.example.backend;
 
+import com.example.backend.auth.config.PrincipalCache;
 import com.example.backend.form.model.User;
 import com.example.backend.form.repository.UserRepository;
 import com.example.backend.form.service.GoogleOAuthService;
+import com.example.backend.form.service.NotificationCounterCache;
+import com.example.backend.form.service.StatisticsService;
 import com.example.backend.form.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,12 @@ public class UserServiceTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private GoogleOAuthService googleOAuthService;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private StatisticsService statisticsService;
+    @Mock
+    private NotificationCounterCache notificationCounterCache;
     @InjectMocks
     private UserService userService;
 
@@ -76,5 +85,27 @@ public class UserServiceTest {
         assertNotNull(updated);
     }
 
+    @Test
+    void testDeactivateUserEvictsCachedPrincipal() {
+        User user = new User();
+        user.setId(7L);
+        user.setIsActive(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        userService.deactivateUser(7L);
+        assertFalse(user.getIsActive());
+        verify(principalCache).evictUser(7L);
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedPrincipal() {
+        // The student profile endpoint changes the email through updateUser
+        User user = new User();
+        user.setId(8L);
+        user.setEmail("new@example.com");
+        when(userRepository.save(user)).thenReturn(user);
+        userService.updateUser(user);
+        verify(principalCache).evictUser(8L);
+    }
+
     // Add more tests for successful registration, Google auth, etc.
 } 
\ No newline at end of file
@@ -76,7 +76,7 @@ const Dashboard = ({ onLogout }) => {
       setLoading(true);
       fetch('/api/student/notifications', { headers: { Authorization: `Bearer ${token}` } })
         .then(res => res.json())
-        .then(data => { setNotifications(data); setLoading(false); })
+        .then(data => { setNotifications(data.items); setLoading(false); })
         .catch(e => { setError('Failed to load notifications'); setLoading(false); });
     }
   }, [activeTab, token]);
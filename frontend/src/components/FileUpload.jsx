@@ -81,15 +81,16 @@ const FileUpload = ({ formId, onFileUploaded }) => {
 
     const uploadPromises = files.map(async (fileObj) => {
       try {
-        const formData = new FormData();
-        formData.append('file', fileObj.file);
-        formData.append('description', fileObj.description || '');
-
+        // Send the raw file body so the server can stream it to disk
         const token = localStorage.getItem('token');
-        const response = await axios.post(`/api/files/upload/${finalFormId}`, formData, {
+        const response = await axios.post(`/api/files/upload/${finalFormId}/stream`, fileObj.file, {
+          params: {
+            fileName: fileObj.name,
+            description: fileObj.description || ''
+          },
           headers: {
             'Authorization': `Bearer ${token}`,
-            'Content-Type': 'multipart/form-data'
+            'Content-Type': fileObj.type || 'application/octet-stream'
           }
         });
 
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useContext } from 'react';
+import React, { useState, useEffect, useContext, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import '../styles/notification-system.css';
 import { AuthContext } from '../services/authContext.jsx';
@@ -9,7 +9,8 @@ import {
   markNotificationAsRead,
   markAllNotificationsAsRead,
   markNotificationAsArchived,
-  deleteNotification
+  deleteNotification,
+  openNotificationStream
 } from '../services/authService.js';
 
 const NotificationSystem = () => {
@@ -21,16 +22,32 @@ const NotificationSystem = () => {
   const [showDropdown, setShowDropdown] = useState(false);
   const [filter, setFilter] = useState('all');
   const [bellAnimate, setBellAnimate] = useState(false);
+  // Digest count and status of every listed notification, by id
+  const seen = useRef(new Map());
   const navigate = useNavigate();
 
-  // Fetch notifications on mount and poll
+  // Fetch notifications on mount, then receive new ones over the stream
   useEffect(() => {
     loadNotifications();
-    const interval = setInterval(() => {
-      loadNotifications(true);
-    }, 30000);
-    return () => clearInterval(interval);
-  }, []);
+    const stream = openNotificationStream();
+    if (!stream) return undefined;
+    stream.addEventListener('ready', (event) => {
+      setUnreadCount(JSON.parse(event.data).unreadCount);
+    });
+    // Sent instead of the replay when too much was missed to send one by one
+    stream.addEventListener('reset', () => loadNotifications(true));
+    stream.addEventListener('notification', (event) => {
+      const notification = JSON.parse(event.data);
+      // A reconnect replays from Last-Event-ID, new rows and digests that grew,
+      // and may repeat what is listed; a grown digest moves to the top with its new count
+      const known = seen.current.get(notification.id);
+      if (known && known.digestCount >= notification.digestCount) return;
+      seen.current.set(notification.id, { digestCount: notification.digestCount, status: notification.status });
+      setNotifications(prev => [notification, ...prev.filter(notif => notif.id !== notification.id)]);
+      if (notification.status === 'UNREAD' && known?.status !== 'UNREAD') setUnreadCount(count => count + 1);
+    });
+    return () => stream.close();
+  }, [token]);
 
   // Animate bell when new notifications arrive
   useEffect(() => {
@@ -47,6 +64,7 @@ const NotificationSystem = () => {
         fetchNotifications(),
         fetchNotificationStats()
       ]);
+      seen.current = new Map(notifs.map(notif => [notif.id, { digestCount: notif.digestCount, status: notif.status }]));
       setNotifications(notifs);
       setUnreadCount(stats.unread);
     } catch (e) {
@@ -56,9 +74,15 @@ const NotificationSystem = () => {
     }
   };
 
+  const setSeenStatus = (notificationId, status) => {
+    const entry = seen.current.get(notificationId);
+    if (entry) seen.current.set(notificationId, { ...entry, status });
+  };
+
   const handleMarkAsRead = async (notificationId) => {
     try {
       await markNotificationAsRead(notificationId);
+      setSeenStatus(notificationId, 'READ');
       setNotifications(prev => prev.map(notif => notif.id === notificationId ? { ...notif, status: 'READ', readAt: new Date().toISOString() } : notif));
       setUnreadCount(prev => Math.max(0, prev - 1));
     } catch {}
@@ -67,6 +91,7 @@ const NotificationSystem = () => {
   const handleMarkAllAsRead = async () => {
     try {
       await markAllNotificationsAsRead();
+      seen.current.forEach((entry, id) => { if (entry.status === 'UNREAD') setSeenStatus(id, 'READ'); });
       setNotifications(prev => prev.map(notif => ({ ...notif, status: 'READ', readAt: notif.readAt || new Date().toISOString() })));
       setUnreadCount(0);
     } catch {}
@@ -75,6 +100,7 @@ const NotificationSystem = () => {
   const handleArchive = async (notificationId) => {
     try {
       await markNotificationAsArchived(notificationId);
+      setSeenStatus(notificationId, 'ARCHIVED');
       setNotifications(prev => prev.map(notif => notif.id === notificationId ? { ...notif, status: 'ARCHIVED' } : notif));
     } catch {}
   };
@@ -201,9 +227,12 @@ const NotificationSystem = () => {
                   >
                     <span className="notification-icon">{getNotificationIcon(notif.type)}</span>
                     <div className="notification-content">
-                      <h4>{notif.title}</h4>
+                      <h4>
+                        {notif.title}
+                        {notif.digestCount > 1 && <span className="digest-count" title={`${notif.digestCount} notifications`}> ×{notif.digestCount}</span>}
+                      </h4>
                       <p>{notif.message}</p>
-                      <span className="notification-time">{formatDate(notif.createdAt)}</span>
+                      <span className="notification-time">{formatDate(notif.lastActivityAt || notif.createdAt)}</span>
                     </div>
                     {notif.status === 'UNREAD' && <span className="unread-indicator"></span>}
                     <div className="notification-actions">
@@ -12,21 +12,31 @@ const Notifications = () => {
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState(null);
   const [filter, setFilter] = useState('all');
+  const [nextCursor, setNextCursor] = useState(null);
   const navigate = useNavigate();
 
   useEffect(() => {
-    fetchNotifications();
     fetchUnreadCount();
   }, []);
 
-  const fetchNotifications = async () => {
+  // The list is paged on the server; changing the tab starts again from the first page
+  useEffect(() => {
+    fetchNotifications();
+  }, [filter]);
+
+  const fetchNotifications = async (cursor = null) => {
     setIsLoading(true);
     try {
-      const response = await fetch('/api/student/notifications', {
+      const params = new URLSearchParams({ size: '50' });
+      if (filter !== 'all') params.set('status', filter.toUpperCase());
+      if (cursor) params.set('cursor', cursor);
+      const response = await fetch(`/api/student/notifications?${params}`, {
         headers: { 'Authorization': `Bearer ${token}` }
       });
       if (response.ok) {
-        setNotifications(await response.json());
+        const page = await response.json();
+        setNotifications(prev => cursor ? [...prev, ...page.items] : page.items);
+        setNextCursor(page.hasMore ? page.nextCursor : null);
       }
     } catch (error) {
       setError('Failed to load notifications');
@@ -171,7 +181,7 @@ const Notifications = () => {
               <button className={`filter-btn ${filter === 'archived' ? 'active' : ''}`} onClick={() => setFilter('archived')}>Archived</button>
             </div>
             <div className="notifications-list full-page">
-              {isLoading ? (
+              {isLoading && notifications.length === 0 ? (
                 <div className="loading-spinner"></div>
               ) : error ? (
                 <div className="error-message">{error}</div>
@@ -208,8 +218,13 @@ const Notifications = () => {
                     </div>
                     <div className="notification-content" style={{ flex: 1 }}>
                       <div className="notification-header" style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
-                        <h4 className="notification-title" style={{ fontWeight: 600, fontSize: '1.1rem', margin: 0 }}>{notification.title}</h4>
-                        <span className="notification-time" style={{ fontSize: '0.9rem', color: '#888', marginLeft: 12 }}>{formatDate(notification.createdAt)}</span>
+                        <h4 className="notification-title" style={{ fontWeight: 600, fontSize: '1.1rem', margin: 0 }}>
+                          {notification.title}
+                          {notification.digestCount > 1 && (
+                            <span className="digest-count" title={`${notification.digestCount} notifications`} style={{ marginLeft: 8, fontSize: '0.85rem', fontWeight: 600, color: '#a8071a' }}>×{notification.digestCount}</span>
+                          )}
+                        </h4>
+                        <span className="notification-time" style={{ fontSize: '0.9rem', color: '#888', marginLeft: 12 }}>{formatDate(notification.lastActivityAt || notification.createdAt)}</span>
                       </div>
                       <p className="notification-message" style={{ color: '#444', fontSize: '1rem', margin: '6px 0 0 0' }}>{notification.message}</p>
                       {notification.relatedFormId && (
@@ -229,6 +244,9 @@ const Notifications = () => {
                   </div>
                 ))
               )}
+              {nextCursor && !isLoading && (
+                <button className="filter-btn" style={{ margin: '0 auto', display: 'block' }} onClick={() => fetchNotifications(nextCursor)}>Load more</button>
+              )}
             </div>
           </div>
         </div>
@@ -217,6 +217,14 @@ export const fetchNotifications = async () => {
   return res.data;
 };
 
+// Server-sent stream of new notifications; EventSource cannot send headers, so the
+// token goes in the query string and the browser reconnects with Last-Event-ID
+export const openNotificationStream = () => {
+  const token = sessionStorage.getItem('authToken');
+  if (!token) return null;
+  return new EventSource(`http://localhost:8080/api/notifications/stream?access_token=${encodeURIComponent(token)}`);
+};
+
 export const fetchUnreadNotifications = async () => {
   const res = await notificationApi.get('/unread');
   return res.data;